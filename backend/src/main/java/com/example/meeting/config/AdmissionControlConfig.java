@@ -0,0 +1,43 @@
+package com.example.meeting.config;
+
+import com.example.meeting.resilience.AdaptiveConcurrencyLimiter;
+import com.example.meeting.resilience.AdmissionControlFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter llmConcurrencyLimiter(AdmissionProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return limiter("llm", properties.getLlm(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter requestConcurrencyLimiter(AdmissionProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return limiter("requests", properties.getRequests(), meterRegistry.getIfAvailable());
+    }
+
+    // after rate limiting: a client over its own budget does not take a concurrency slot
+    @Bean
+    @ConditionalOnProperty(prefix = "admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Qualifier("requestConcurrencyLimiter") AdaptiveConcurrencyLimiter limiter, AdmissionProperties properties) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(limiter, properties.getGuarded()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(String name, AdmissionProperties.Limit l, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(name, l.getInitialLimit(), l.getMinLimit(), l.getMaxLimit(),
+                l.getTargetLatencyMs(), l.getBackoffRatio(), meterRegistry);
+    }
+}
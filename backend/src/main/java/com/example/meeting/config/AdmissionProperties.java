@@ -0,0 +1,68 @@
+package com.example.meeting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds the {@code admission.*} block of application.yml: adaptive concurrency limits for LLM calls and
+ * for the endpoints that make them.
+ */
+@Component
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    // off: guarded endpoints are not limited (LLM calls still are)
+    private boolean enabled = true;
+
+    // "METHOD /path/pattern" entries run under the request limit
+    private List<String> guarded = new ArrayList<>();
+
+    private Limit requests = new Limit(50, 10, 200, 2000);
+
+    // past the limit decisions are made by the rules alone
+    private Limit llm = new Limit(8, 1, 32, 5000);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<String> getGuarded() { return guarded; }
+    public void setGuarded(List<String> guarded) { this.guarded = guarded; }
+    public Limit getRequests() { return requests; }
+    public void setRequests(Limit requests) { this.requests = requests; }
+    public Limit getLlm() { return llm; }
+    public void setLlm(Limit llm) { this.llm = llm; }
+
+    public static class Limit {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        // slower calls shrink the limit; for requests, time waiting on Gemini is not counted
+        private long targetLatencyMs;
+
+        private double backoffRatio = 0.9;
+
+        public Limit() {}
+
+        public Limit(int initialLimit, int minLimit, int maxLimit, long targetLatencyMs) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.targetLatencyMs = targetLatencyMs;
+        }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+        public long getTargetLatencyMs() { return targetLatencyMs; }
+        public void setTargetLatencyMs(long targetLatencyMs) { this.targetLatencyMs = targetLatencyMs; }
+        public double getBackoffRatio() { return backoffRatio; }
+        public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+    }
+}
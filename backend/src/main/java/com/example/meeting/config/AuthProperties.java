@@ -0,0 +1,34 @@
+package com.example.meeting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@code auth.*} block of application.yml.
+ */
+@Component
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+
+    // session: security context in the HTTP session (one node per user);
+    // token: stateless, HMAC-signed bearer tokens any node can verify
+    private String mode = "session";
+
+    // HMAC-SHA256 key shared by all nodes, at least 32 bytes; when empty a random per-process key is used
+    private String tokenSecret;
+
+    private long accessTokenTtlSeconds = 900;
+
+    private long refreshTokenTtlSeconds = 604800;
+
+    public boolean isTokenMode() { return "token".equalsIgnoreCase(mode); }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+    public String getTokenSecret() { return tokenSecret; }
+    public void setTokenSecret(String tokenSecret) { this.tokenSecret = tokenSecret; }
+    public long getAccessTokenTtlSeconds() { return accessTokenTtlSeconds; }
+    public void setAccessTokenTtlSeconds(long accessTokenTtlSeconds) { this.accessTokenTtlSeconds = accessTokenTtlSeconds; }
+    public long getRefreshTokenTtlSeconds() { return refreshTokenTtlSeconds; }
+    public void setRefreshTokenTtlSeconds(long refreshTokenTtlSeconds) { this.refreshTokenTtlSeconds = refreshTokenTtlSeconds; }
+}
@@ -0,0 +1,27 @@
+package com.example.meeting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@code bookings.archive.*} block of application.yml.
+ */
+@Component
+@ConfigurationProperties(prefix = "bookings.archive")
+public class BookingArchiveProperties {
+
+    private boolean enabled = true;
+
+    // bookings that ended more than this many days ago move to bookings_archive
+    private int retentionDays = 90;
+
+    // bookings per archival transaction
+    private int chunkSize = 500;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+}
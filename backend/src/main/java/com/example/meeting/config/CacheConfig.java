@@ -0,0 +1,62 @@
+package com.example.meeting.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URISyntaxException;
+import java.util.List;
+
+/**
+ * One JCache {@link CacheManager} built from {@code ehcache.xml}, shared by the Hibernate second-level
+ * cache regions and the application caches ({@link #APP_CACHES}). The application caches are bound to
+ * Micrometer as {@code cache.*} meters.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String USER_IDENTITIES = "user-identities";
+    public static final String REMINDER_SUGGESTIONS = "reminder-suggestions";
+    static final List<String> APP_CACHES = List.of(USER_IDENTITIES, REMINDER_SUGGESTIONS);
+
+    /**
+     * The manager for {@code ehcache.xml}. The provider hands out one instance per configuration URI,
+     * so this is also the manager Hibernate resolves from {@code hibernate.javax.cache.uri}.
+     */
+    public static CacheManager ehcacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(org.ehcache.jsr107.EhcacheCachingProvider.class.getName());
+        try {
+            return provider.getCacheManager(CacheConfig.class.getResource("/ehcache.xml").toURI(),
+                    provider.getDefaultClassLoader());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Bad ehcache.xml location", e);
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheManager() {
+        return ehcacheManager();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sharedJCacheManager(CacheManager jCacheManager) {
+        return props -> props.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+    }
+
+    @Bean
+    public MeterBinder appCacheMetrics(CacheManager jCacheManager) {
+        return registry -> {
+            for (String name : APP_CACHES) {
+                jCacheManager.enableStatistics(name, true);
+                new JCacheMetrics<>(jCacheManager.getCache(name), Tags.empty()).bindTo(registry);
+            }
+        };
+    }
+}
@@ -81,6 +81,7 @@ public class DataSeeder {
                 // generate sample bookings over next 30 days
                 java.time.LocalDate today = java.time.LocalDate.now();
                 java.util.Random rand = new java.util.Random(42);
+                java.util.List<com.example.meeting.model.Booking> bookings = new java.util.ArrayList<>();
                 for (int i = 0; i < 100; i++) {
                     int dayOffset = rand.nextInt(30);
                     java.time.LocalDate d = today.plusDays(dayOffset);
@@ -102,8 +103,10 @@ public class DataSeeder {
                     b.setPurpose("Team sync on project " + (rand.nextInt(20) + 1));
                     b.setAttendeesCount(1 + rand.nextInt(20));
                     b.setPriority(1 + rand.nextInt(5));
-                    bookingRepository.save(b);
+                    bookings.add(b);
                 }
+                // one transaction: the inserts go out as JDBC batches
+                bookingRepository.saveAll(bookings);
                 // seed users
                 if (userRepository.count() == 0) {
                     com.example.meeting.model.UserAccount alice = new com.example.meeting.model.UserAccount("alice", passwordEncoder.encode("alicepass"), "ROLE_EMPLOYEE");
@@ -0,0 +1,95 @@
+package com.example.meeting.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkheads: each slow dependency gets a bounded pool of its own, so a stalled Gemini, SMTP relay or
+ * analytics scan cannot take threads from the others or from Tomcat.
+ * <ul>
+ *   <li>{@code llmExecutor}: Gemini calls made by {@code LlmClient}</li>
+ *   <li>{@code mailExecutor}: SMTP sessions of {@code MailDeliveryService}</li>
+ *   <li>{@code analyticsExecutor}: the admin analytics overview</li>
+ *   <li>{@code taskScheduler}: every {@code @Scheduled} job</li>
+ * </ul>
+ * Each is instrumented with the {@code executor.*} meters (active, queued, queue.remaining, pool.size)
+ * tagged by name, plus {@code executor.rejected}.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor llmExecutor(ExecutorProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return pool("llm", properties.getLlm(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor analyticsExecutor(ExecutorProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return pool("analytics", properties.getAnalytics(), meterRegistry.getIfAvailable());
+    }
+
+    // back-pressure: when the queue is full the dispatcher sends the chunk itself
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor mailExecutor(NotificationProperties notificationProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        NotificationProperties.Delivery delivery = notificationProperties.getDelivery();
+        return pool("mail", new ExecutorProperties.Pool(delivery.getWorkers(), delivery.getWorkers(),
+                delivery.getQueueCapacity(), "caller-runs"), meterRegistry.getIfAvailable());
+    }
+
+    // instrumented by Spring Boot under its bean name, taskScheduler
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ExecutorProperties properties) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, properties.getSchedulerPoolSize()));
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setErrorHandler(t -> log.warn("Scheduled job failed", t));
+        return scheduler;
+    }
+
+    // meterRegistry may be null (tests, metrics disabled)
+    public static ThreadPoolExecutor pool(String name, ExecutorProperties.Pool cfg, MeterRegistry meterRegistry) {
+        int core = Math.max(1, cfg.getCoreSize());
+        Counter rejected = meterRegistry == null ? null : Counter.builder("executor.rejected")
+                .description("Tasks refused or run by the submitter because the pool and its queue were full")
+                .tag("name", name)
+                .register(meterRegistry);
+        RejectedExecutionHandler policy = "caller-runs".equalsIgnoreCase(cfg.getRejection())
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+        AtomicInteger seq = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(core, Math.max(core, cfg.getMaxSize()),
+                cfg.getKeepAliveSeconds(), TimeUnit.SECONDS,
+                // capacity 0: no waiting room, a task is handed to an idle or new thread or refused
+                cfg.getQueueCapacity() <= 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(cfg.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, e) -> {
+                    if (rejected != null) rejected.increment();
+                    policy.rejectedExecution(r, e);
+                });
+        if (meterRegistry != null) {
+            new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+        }
+        return executor;
+    }
+}
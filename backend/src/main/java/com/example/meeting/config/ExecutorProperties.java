@@ -0,0 +1,68 @@
+package com.example.meeting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@code executors.*} block of application.yml: the dedicated thread pools of
+ * {@link ExecutorConfig}. The mail pool is sized by {@code notifications.delivery.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "executors")
+public class ExecutorProperties {
+
+    // no queue: when all threads are busy the call is refused at once and the caller falls back to rules
+    private Pool llm = new Pool(4, 8, 0, "abort");
+
+    // how long a caller waits for a Gemini call running on the llm pool
+    private long llmTimeoutSeconds = 35;
+
+    private Pool analytics = new Pool(2, 2, 10, "abort");
+
+    // threads running @Scheduled jobs, so a slow job does not hold up the others
+    private int schedulerPoolSize = 4;
+
+    public Pool getLlm() { return llm; }
+    public void setLlm(Pool llm) { this.llm = llm; }
+    public long getLlmTimeoutSeconds() { return llmTimeoutSeconds; }
+    public void setLlmTimeoutSeconds(long llmTimeoutSeconds) { this.llmTimeoutSeconds = llmTimeoutSeconds; }
+    public Pool getAnalytics() { return analytics; }
+    public void setAnalytics(Pool analytics) { this.analytics = analytics; }
+    public int getSchedulerPoolSize() { return schedulerPoolSize; }
+    public void setSchedulerPoolSize(int schedulerPoolSize) { this.schedulerPoolSize = schedulerPoolSize; }
+
+    public static class Pool {
+
+        private int coreSize;
+
+        // threads beyond coreSize are only started once the queue is full (at once with no queue)
+        private int maxSize;
+
+        private int queueCapacity;
+
+        private long keepAliveSeconds = 60;
+
+        // abort: the submitter gets a RejectedExecutionException; caller-runs: the submitter runs the task
+        private String rejection;
+
+        public Pool() {}
+
+        public Pool(int coreSize, int maxSize, int queueCapacity, String rejection) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.rejection = rejection;
+        }
+
+        public int getCoreSize() { return coreSize; }
+        public void setCoreSize(int coreSize) { this.coreSize = coreSize; }
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public long getKeepAliveSeconds() { return keepAliveSeconds; }
+        public void setKeepAliveSeconds(long keepAliveSeconds) { this.keepAliveSeconds = keepAliveSeconds; }
+        public String getRejection() { return rejection; }
+        public void setRejection(String rejection) { this.rejection = rejection; }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.meeting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds the {@code notifications.*} block of application.yml.
+ */
+@Component
+@ConfigurationProperties(prefix = "notifications")
+public class NotificationProperties {
+
+    private boolean enabled = true;
+
+    // minutes before start at which a reminder goes out
+    private List<Integer> defaultOffsetsMinutes = new ArrayList<>(List.of(30, 60, 1440));
+
+    // mailboxes that receive setup requests for AV / video / catering
+    private List<String> facilitiesEmails = new ArrayList<>(List.of("facilities@company.local", "it-support@company.local"));
+
+    private Reminders reminders = new Reminders();
+
+    private Dispatch dispatch = new Dispatch();
+
+    private Delivery delivery = new Delivery();
+
+    private Coalesce coalesce = new Coalesce();
+
+    private Retry retry = new Retry();
+
+    private Archive archive = new Archive();
+
+    private Inbox inbox = new Inbox();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<Integer> getDefaultOffsetsMinutes() { return defaultOffsetsMinutes; }
+    public void setDefaultOffsetsMinutes(List<Integer> defaultOffsetsMinutes) { this.defaultOffsetsMinutes = defaultOffsetsMinutes; }
+    public List<String> getFacilitiesEmails() { return facilitiesEmails; }
+    public void setFacilitiesEmails(List<String> facilitiesEmails) { this.facilitiesEmails = facilitiesEmails; }
+    public Reminders getReminders() { return reminders; }
+    public void setReminders(Reminders reminders) { this.reminders = reminders; }
+    public Dispatch getDispatch() { return dispatch; }
+    public void setDispatch(Dispatch dispatch) { this.dispatch = dispatch; }
+    public Delivery getDelivery() { return delivery; }
+    public void setDelivery(Delivery delivery) { this.delivery = delivery; }
+    public Coalesce getCoalesce() { return coalesce; }
+    public void setCoalesce(Coalesce coalesce) { this.coalesce = coalesce; }
+    public Retry getRetry() { return retry; }
+    public void setRetry(Retry retry) { this.retry = retry; }
+    public Archive getArchive() { return archive; }
+    public void setArchive(Archive archive) { this.archive = archive; }
+    public Inbox getInbox() { return inbox; }
+    public void setInbox(Inbox inbox) { this.inbox = inbox; }
+
+    public static class Reminders {
+        // MATERIALIZED: rows written at booking time; VIRTUAL: computed from the booking schedule at dispatch time
+        private String mode = "MATERIALIZED";
+        // how late a virtual reminder may still go out (e.g. after downtime)
+        private long catchUpMinutes = 10;
+
+        public String getMode() { return mode; }
+        public void setMode(String mode) { this.mode = mode; }
+        public long getCatchUpMinutes() { return catchUpMinutes; }
+        public void setCatchUpMinutes(long catchUpMinutes) { this.catchUpMinutes = catchUpMinutes; }
+
+        public boolean isVirtual() {
+            return "VIRTUAL".equalsIgnoreCase(mode);
+        }
+    }
+
+    public static class Dispatch {
+        // max rows claimed per page by one node
+        private int batchSize = 100;
+        // claims older than this are considered abandoned (crashed node) and can be re-claimed
+        private long leaseSeconds = 300;
+        // identifies this instance in notification.claimed_by; generated when blank
+        private String nodeId = "";
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public long getLeaseSeconds() { return leaseSeconds; }
+        public void setLeaseSeconds(long leaseSeconds) { this.leaseSeconds = leaseSeconds; }
+        public String getNodeId() { return nodeId; }
+        public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+    }
+
+    public static class Delivery {
+        // SMTP worker threads
+        private int workers = 4;
+        // chunks waiting for a worker before the dispatcher sends inline
+        private int queueCapacity = 100;
+        // messages sent over one SMTP session
+        private int batchSize = 20;
+        // concurrent sessions towards a single recipient domain
+        private int perDomainConcurrency = 2;
+
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = workers; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public int getPerDomainConcurrency() { return perDomainConcurrency; }
+        public void setPerDomainConcurrency(int perDomainConcurrency) { this.perDomainConcurrency = perDomainConcurrency; }
+    }
+
+    public static class Coalesce {
+        private boolean enabled = true;
+        // pending rows of the same user and channel due within this window are sent with the due one
+        private long windowMinutes = 15;
+        // facilities requests are grouped per mailbox over a longer window (e.g. one email per morning)
+        private long facilitiesWindowMinutes = 240;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public long getWindowMinutes() { return windowMinutes; }
+        public void setWindowMinutes(long windowMinutes) { this.windowMinutes = windowMinutes; }
+        public long getFacilitiesWindowMinutes() { return facilitiesWindowMinutes; }
+        public void setFacilitiesWindowMinutes(long facilitiesWindowMinutes) { this.facilitiesWindowMinutes = facilitiesWindowMinutes; }
+    }
+
+    public static class Retry {
+        // delivery attempts before a notification is moved to DEAD
+        private int maxAttempts = 5;
+        // backoff before the first retry; doubled on every further attempt
+        private long initialDelaySeconds = 30;
+        // upper bound of the backoff
+        private long maxDelaySeconds = 1800;
+        // connection failures in one page from which SMTP is taken to be down for the rest of the cycle
+        private int breakerMinFailures = 3;
+
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+        public long getInitialDelaySeconds() { return initialDelaySeconds; }
+        public void setInitialDelaySeconds(long initialDelaySeconds) { this.initialDelaySeconds = initialDelaySeconds; }
+        public long getMaxDelaySeconds() { return maxDelaySeconds; }
+        public void setMaxDelaySeconds(long maxDelaySeconds) { this.maxDelaySeconds = maxDelaySeconds; }
+        public int getBreakerMinFailures() { return breakerMinFailures; }
+        public void setBreakerMinFailures(int breakerMinFailures) { this.breakerMinFailures = breakerMinFailures; }
+    }
+
+    public static class Archive {
+        private boolean enabled = true;
+        // finished notifications scheduled longer ago than this move to notification_archive
+        private int retentionDays = 30;
+        // rows moved per transaction
+        private int chunkSize = 500;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getRetentionDays() { return retentionDays; }
+        public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+        public int getChunkSize() { return chunkSize; }
+        public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    }
+
+    public static class Inbox {
+        // page size when the client does not ask for one, and the upper bound it may ask for
+        private int defaultPageSize = 50;
+        private int maxPageSize = 200;
+        // cached unread counters are re-read from the database after this long (other nodes' writes)
+        private long unreadTtlSeconds = 300;
+
+        public int getDefaultPageSize() { return defaultPageSize; }
+        public void setDefaultPageSize(int defaultPageSize) { this.defaultPageSize = defaultPageSize; }
+        public int getMaxPageSize() { return maxPageSize; }
+        public void setMaxPageSize(int maxPageSize) { this.maxPageSize = maxPageSize; }
+        public long getUnreadTtlSeconds() { return unreadTtlSeconds; }
+        public void setUnreadTtlSeconds(long unreadTtlSeconds) { this.unreadTtlSeconds = unreadTtlSeconds; }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.meeting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds the {@code ratelimit.*} block of application.yml. Each request is charged to the first rule
+ * matching it, in a bucket of its own per client and rule.
+ */
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // buckets untouched for this long are dropped (they would be full again anyway)
+    private long idleEvictSeconds = 600;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getIdleEvictSeconds() { return idleEvictSeconds; }
+    public void setIdleEvictSeconds(long idleEvictSeconds) { this.idleEvictSeconds = idleEvictSeconds; }
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+
+    public static class Rule {
+
+        private String name;
+
+        // HTTP method, or empty for any
+        private String method;
+
+        // Ant-style path pattern, e.g. /api/bookings/*/analyze
+        private String pattern;
+
+        // burst size, in cost units
+        private double capacity = 60;
+
+        private double refillPerSecond = 1;
+
+        // units one request takes
+        private double cost = 1;
+
+        public Rule() {}
+
+        public Rule(String name, String method, String pattern, double capacity, double refillPerSecond, double cost) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.cost = cost;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+        public double getCapacity() { return capacity; }
+        public void setCapacity(double capacity) { this.capacity = capacity; }
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+        public double getCost() { return cost; }
+        public void setCost(double cost) { this.cost = cost; }
+    }
+}
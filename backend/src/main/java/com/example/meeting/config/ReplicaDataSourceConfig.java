@@ -0,0 +1,80 @@
+package com.example.meeting.config;
+
+import com.example.meeting.datasource.ReadRoutingFilter;
+import com.example.meeting.datasource.ReplicaLagMonitor;
+import com.example.meeting.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary / replica split, active with {@code replica.enabled=true}. spring.datasource is the primary and
+ * takes every write; read-only transactions of web requests go to {@code replica.url} (see
+ * {@link ReplicaRoutingDataSource}). Without it the auto-configured single data source is used.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(ReplicaProperties replica, DataSourceProperties properties) {
+        HikariDataSource ds = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername() == null ? properties.getUsername() : replica.getUsername())
+                .password(replica.getPassword() == null ? properties.getPassword() : replica.getPassword())
+                .driverClassName(replica.getDriverClassName() == null ? properties.getDriverClassName() : replica.getDriverClassName())
+                .build();
+        ds.setPoolName("replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReplicaProperties replica) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, replica.getMaxStalenessMs(), replica.getHeartbeatMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+
+    // a session holding its connection across transactions would keep the first route for the whole request
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return props -> props.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadRoutingFilter> readRoutingFilter(ReplicaProperties replica) {
+        FilterRegistrationBean<ReadRoutingFilter> registration =
+                new FilterRegistrationBean<>(new ReadRoutingFilter(replica.getMaxStalenessMs()));
+        registration.addUrlPatterns("/api/*");
+        // default (lowest) order: runs after Spring Security, so token requests already have their principal
+        return registration;
+    }
+}
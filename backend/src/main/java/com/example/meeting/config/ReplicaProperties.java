@@ -0,0 +1,44 @@
+package com.example.meeting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@code replica.*} block of application.yml: the read replica used by read-only transactions.
+ */
+@Component
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+
+    // off: every query goes to spring.datasource
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    // replicas further behind than this are skipped; reads go to the primary
+    private long maxStalenessMs = 2000;
+
+    // how often the primary writes the heartbeat the lag is measured with
+    private long heartbeatMs = 1000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public String getDriverClassName() { return driverClassName; }
+    public void setDriverClassName(String driverClassName) { this.driverClassName = driverClassName; }
+    public long getMaxStalenessMs() { return maxStalenessMs; }
+    public void setMaxStalenessMs(long maxStalenessMs) { this.maxStalenessMs = maxStalenessMs; }
+    public long getHeartbeatMs() { return heartbeatMs; }
+    public void setHeartbeatMs(long heartbeatMs) { this.heartbeatMs = heartbeatMs; }
+}
@@ -1,5 +1,9 @@
 package com.example.meeting.config;
 
+import com.example.meeting.security.TokenAuthenticationFilter;
+import com.example.meeting.security.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,18 +15,27 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthProperties authProperties, TokenService tokenService) throws Exception {
         http.cors().and()
             .csrf().disable()
             .authorizeHttpRequests(auth -> auth
@@ -31,12 +44,40 @@ public class SecurityConfig {
                 .antMatchers("/api/auth/**").permitAll()
                 .antMatchers("/api/rooms/**").permitAll()
                 .antMatchers("/api/**").permitAll()
+                .antMatchers("/actuator/metrics/**").hasAuthority("ROLE_ADMIN")
                 .anyRequest().permitAll()
-            )
-            .sessionManagement().maximumSessions(1);
+            );
+        if (authProperties.isTokenMode()) {
+            // no session registry, no session: any node can serve any request
+            http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+                .exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)).and()
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
+        } else {
+            http.sessionManagement().maximumSessions(1);
+        }
         return http.build();
     }
 
+    @Bean
+    public TokenService tokenService(AuthProperties authProperties) {
+        String secret = authProperties.getTokenSecret();
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            if (authProperties.isTokenMode()) {
+                log.warn("auth.token-secret is not set; tokens are signed with a random key and only valid on this node until restart");
+            }
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            // HS256 keys shorter than the hash output are weak (RFC 7518 section 3.2)
+            if (key.length < 32) {
+                throw new IllegalStateException("auth.token-secret must be at least 32 bytes, got " + key.length);
+            }
+        }
+        return new TokenService(key, authProperties.getAccessTokenTtlSeconds(), authProperties.getRefreshTokenTtlSeconds());
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -1,15 +1,15 @@
 package com.example.meeting.controller;
 
-import com.example.meeting.model.Booking;
 import com.example.meeting.model.Room;
+import com.example.meeting.model.RoomBookingStats;
 import com.example.meeting.repository.BookingRepository;
 import com.example.meeting.repository.RoomRepository;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.access.prepost.PreAuthorize;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -25,6 +25,10 @@ public class AdminAnalyticsController {
     private final com.example.meeting.repository.AiInsightsRepository aiInsightsRepository;
     @Autowired
     private LlmClient llmClient;
+    // the aggregation and the LLM call run here; the request thread is released meanwhile
+    @Autowired
+    @org.springframework.beans.factory.annotation.Qualifier("analyticsExecutor")
+    private java.util.concurrent.Executor analyticsExecutor;
 
     public AdminAnalyticsController(BookingRepository bookingRepository, RoomRepository roomRepository, com.example.meeting.repository.AiInsightsRepository aiInsightsRepository) {
         this.bookingRepository = bookingRepository;
@@ -34,16 +38,34 @@ public class AdminAnalyticsController {
 
     @GetMapping("/overview")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public Map<String, Object> overview() {
+    public java.util.concurrent.CompletableFuture<ResponseEntity<Map<String, Object>>> overview() {
+        if (analyticsExecutor == null) return java.util.concurrent.CompletableFuture.completedFuture(ResponseEntity.ok(buildOverview()));
+        try {
+            // the worker reads from the replica only if this request could
+            return java.util.concurrent.CompletableFuture.supplyAsync(
+                    com.example.meeting.datasource.ReadRouting.propagate(() -> ResponseEntity.ok(buildOverview())), analyticsExecutor);
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            Map<String, Object> busy = Map.of("error", "Server busy, please retry");
+            return java.util.concurrent.CompletableFuture.completedFuture(
+                    ResponseEntity.status(503).header("Retry-After", "1").body(busy));
+        }
+    }
+
+    private Map<String, Object> buildOverview() {
         Map<String, Object> resp = new HashMap<>();
         List<Room> rooms = roomRepository.findAll();
-        List<Booking> bookings = bookingRepository.findAll();
+        // per-room figures grouped by the database; past bookings moved to the archive still count
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+        Map<Long, RoomBookingStats> stats = new HashMap<>();
+        for (RoomBookingStats s : bookingRepository.roomStatsIncludingArchived(since)) stats.put(s.getRoomId(), s);
+        RoomBookingStats none = new RoomBookingStats(null, 0, 0, 0);
 
         // total bookings
-        resp.put("totalBookings", bookings.size());
+        resp.put("totalBookings", stats.values().stream().mapToLong(RoomBookingStats::getBookings).sum());
 
         // bookings by room
-        Map<Long, Long> counts = bookings.stream().collect(Collectors.groupingBy(Booking::getRoomId, Collectors.counting()));
+        Map<Long, Long> counts = new HashMap<>();
+        stats.forEach((roomId, s) -> counts.put(roomId, s.getBookings()));
         List<Map<String, Object>> roomCounts = new ArrayList<>();
         for (Room r : rooms) {
             Map<String, Object> m = new HashMap<>();
@@ -62,14 +84,9 @@ public class AdminAnalyticsController {
         resp.put("leastRooms", leastRooms);
 
         // capacity usage: average attendees per booking vs room capacity distribution
-        Map<Long, List<Integer>> attendeesByRoom = new HashMap<>();
-        for (Booking b : bookings) {
-            attendeesByRoom.computeIfAbsent(b.getRoomId(), k -> new ArrayList<>()).add(b.getAttendeesCount() == null ? 0 : b.getAttendeesCount());
-        }
         List<Map<String,Object>> capacityStats = new ArrayList<>();
         for (Room r : rooms) {
-            List<Integer> arr = attendeesByRoom.getOrDefault(r.getId(), Collections.emptyList());
-            double avg = arr.isEmpty() ? 0.0 : arr.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+            double avg = stats.getOrDefault(r.getId(), none).getAvgAttendees();
             Map<String,Object> cs = new HashMap<>();
             cs.put("roomId", r.getId());
             cs.put("name", r.getName());
@@ -80,17 +97,9 @@ public class AdminAnalyticsController {
         resp.put("capacityStats", capacityStats);
 
         // utilization estimate over last 30 days: fraction of hours booked vs available (assumes 8h per day)
-        LocalDateTime since = LocalDateTime.now().minusDays(30);
-        Map<Long, Long> bookedMinutes = new HashMap<>();
-        for (Booking b : bookings) {
-            if (b.getStartTime() == null || b.getEndTime() == null) continue;
-            if (b.getEndTime().isBefore(since)) continue;
-            long mins = Duration.between(b.getStartTime(), b.getEndTime()).toMinutes();
-            bookedMinutes.put(b.getRoomId(), bookedMinutes.getOrDefault(b.getRoomId(), 0L) + Math.max(0, mins));
-        }
         List<Map<String,Object>> utilization = new ArrayList<>();
         for (Room r : rooms) {
-            long mins = bookedMinutes.getOrDefault(r.getId(), 0L);
+            long mins = stats.getOrDefault(r.getId(), none).getRecentMinutes();
             // available minutes = 30 days * 8 hours/day * 60
             long avail = 30L * 8L * 60L;
             double util = avail == 0 ? 0.0 : ((double)mins) / (double)avail;
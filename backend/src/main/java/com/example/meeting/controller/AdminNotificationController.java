@@ -0,0 +1,46 @@
+package com.example.meeting.controller;
+
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.repository.NotificationRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/notifications")
+public class AdminNotificationController {
+
+    private final NotificationRepository notificationRepository;
+
+    public AdminNotificationController(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    @GetMapping("/dead-letters")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Page<Notification> deadLetters(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "50") int size) {
+        return notificationRepository.findByStatusOrderByScheduledAtDesc(NotificationStatus.DEAD,
+                PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), 500)));
+    }
+
+    /**
+     * Re-queues every dead letter (or only those of {@code type}) with a fresh attempt budget;
+     * they go out with the next dispatch cycle.
+     */
+    @PostMapping("/dead-letters/redrive")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Object>> redrive(@RequestParam(required = false) String type) {
+        int count = type == null || type.isBlank() ? notificationRepository.redriveAllDead()
+                : notificationRepository.redriveDeadOfType(type.toUpperCase());
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("redriven", count);
+        return ResponseEntity.ok(resp);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.meeting.controller;
 
 import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingSummary;
 import com.example.meeting.service.ApprovalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -15,14 +16,17 @@ public class ApprovalController {
     @Autowired
     private ApprovalService approvalService;
 
+    @Autowired
+    private com.example.meeting.repository.BookingRepository bookingRepository;
+
     @GetMapping
-    public ResponseEntity<List<Booking>> getPendingApprovals() {
+    public ResponseEntity<List<BookingSummary>> getPendingApprovals() {
         List<Booking> pendingBookings = approvalService.getPendingApprovals();
-        return ResponseEntity.ok(pendingBookings);
+        return ResponseEntity.ok(bookingRepository.toSummaries(pendingBookings));
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Booking>> getPendingApprovalsAlias() {
+    public ResponseEntity<List<BookingSummary>> getPendingApprovalsAlias() {
         return getPendingApprovals();
     }
 
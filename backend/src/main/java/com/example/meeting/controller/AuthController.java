@@ -1,7 +1,11 @@
 package com.example.meeting.controller;
 
+import com.example.meeting.config.AuthProperties;
 import com.example.meeting.model.UserAccount;
 import com.example.meeting.repository.UserRepository;
+import com.example.meeting.security.TokenService;
+import com.example.meeting.security.UserIdentity;
+import com.example.meeting.security.UserIdentityCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -11,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
+import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -18,10 +23,17 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
+    private final UserIdentityCache userIdentityCache;
+    private final AuthProperties authProperties;
+    private final TokenService tokenService;
     private final UserRepository userRepository;
 
-    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository) {
+    public AuthController(AuthenticationManager authenticationManager, UserIdentityCache userIdentityCache,
+                          AuthProperties authProperties, TokenService tokenService, UserRepository userRepository) {
         this.authenticationManager = authenticationManager;
+        this.userIdentityCache = userIdentityCache;
+        this.authProperties = authProperties;
+        this.tokenService = tokenService;
         this.userRepository = userRepository;
     }
 
@@ -31,16 +43,49 @@ public class AuthController {
         String password = credentials.get("password");
         if (username == null || password == null) return ResponseEntity.badRequest().body("username and password required");
         Authentication auth = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        UserIdentity ua = userIdentityCache.resolve(username).orElse(null);
+        if (ua == null) return ResponseEntity.status(500).build();
+        if (authProperties.isTokenMode()) {
+            // stateless: no session, the client sends the access token on every request
+            return ResponseEntity.ok(withTokens(ua));
+        }
+
         SecurityContextHolder.getContext().setAuthentication(auth);
         // ensure session created
         HttpSession session = request.getSession(true);
         session.setAttribute("SPRING_SECURITY_CONTEXT", SecurityContextHolder.getContext());
-
-        UserAccount ua = userRepository.findByUsername(username).orElse(null);
-        if (ua == null) return ResponseEntity.status(500).build();
         return ResponseEntity.ok(Map.of("id", ua.getId(), "username", ua.getUsername(), "role", ua.getRole()));
     }
 
+    /**
+     * Token mode: a new access / refresh token pair for a valid refresh token. The account is loaded
+     * by the token's user id rather than taken from {@link UserIdentityCache}, so a role change shows
+     * up in the new tokens, and a removed or renamed account gets 401.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        if (!authProperties.isTokenMode()) return ResponseEntity.notFound().build();
+        UserIdentity claimed = tokenService.verify(body.get("refreshToken"), TokenService.REFRESH).orElse(null);
+        if (claimed == null) return ResponseEntity.status(401).build();
+        UserAccount account = userRepository.findById(claimed.getId())
+                .filter(a -> a.getUsername().equals(claimed.getUsername()))
+                .orElse(null);
+        if (account == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(withTokens(new UserIdentity(account.getId(), account.getUsername(), account.getRole())));
+    }
+
+    private Map<String, Object> withTokens(UserIdentity ua) {
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("id", ua.getId());
+        resp.put("username", ua.getUsername());
+        resp.put("role", ua.getRole());
+        resp.put("tokenType", "Bearer");
+        resp.put("accessToken", tokenService.issueAccessToken(ua));
+        resp.put("expiresIn", tokenService.getAccessTtlSeconds());
+        resp.put("refreshToken", tokenService.issueRefreshToken(ua));
+        return resp;
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(HttpServletRequest request) {
         HttpSession s = request.getSession(false);
@@ -55,8 +100,7 @@ public class AuthController {
         if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
             return ResponseEntity.status(401).build();
         }
-        String username = auth.getName();
-        UserAccount ua = userRepository.findByUsername(username).orElse(null);
+        UserIdentity ua = userIdentityCache.resolve(auth).orElse(null);
         if (ua == null) return ResponseEntity.status(401).build();
         return ResponseEntity.ok(Map.of("id", ua.getId(), "username", ua.getUsername(), "role", ua.getRole()));
     }
@@ -2,6 +2,7 @@ package com.example.meeting.controller;
 
 import com.example.meeting.model.Booking;
 import com.example.meeting.model.BookingHistory;
+import com.example.meeting.model.BookingSummary;
 import com.example.meeting.service.BookingService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,32 +15,132 @@ public class BookingController {
 
     private final BookingService bookingService;
     private final com.example.meeting.service.AiDecisionService aiDecisionService;
-    private final com.example.meeting.repository.BookingRepository bookingRepository;
-    private final com.example.meeting.repository.RoomRepository roomRepository;
+    private final com.example.meeting.service.SuggestionService suggestionService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.example.meeting.service.BookingChangeService bookingChangeService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.example.meeting.service.BookingExportService bookingExportService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.example.meeting.service.BookingArchiveService bookingArchiveService;
 
     public BookingController(BookingService bookingService, com.example.meeting.service.AiDecisionService aiDecisionService,
-                             com.example.meeting.repository.BookingRepository bookingRepository,
-                             com.example.meeting.repository.RoomRepository roomRepository) {
+                             com.example.meeting.service.SuggestionService suggestionService) {
         this.bookingService = bookingService;
         this.aiDecisionService = aiDecisionService;
-        this.bookingRepository = bookingRepository;
-        this.roomRepository = roomRepository;
+        this.suggestionService = suggestionService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings(java.security.Principal principal) {
+    public ResponseEntity<List<BookingSummary>> getAllBookings(java.security.Principal principal) {
         // If admin, return all bookings
         org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         boolean isAdmin = auth != null && auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         if (isAdmin) {
-            return ResponseEntity.ok(bookingService.getAllBookings());
+            return ResponseEntity.ok(bookingService.summaries(bookingService.getAllBookings()));
         }
         if (principal == null) return ResponseEntity.status(401).build();
         // principal name is username; map to userId via service
-        java.util.Optional<com.example.meeting.model.UserAccount> uaOpt = bookingService.findUserByUsername(principal.getName());
+        java.util.Optional<com.example.meeting.security.UserIdentity> uaOpt = bookingService.findUser(principal);
         if (uaOpt.isEmpty()) return ResponseEntity.status(401).build();
         Long userId = uaOpt.get().getId();
-        return ResponseEntity.ok(bookingService.getBookingsForUser(userId));
+        return ResponseEntity.ok(bookingService.summaries(bookingService.getBookingsForUser(userId)));
+    }
+
+    /**
+     * Delta sync for client-side booking caches: bookings changed and ids deleted since the client's
+     * cursor, scoped like {@link #getAllBookings}. Start with {@code since=0} and keep the returned cursor.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(defaultValue = "0") long since,
+                                        @RequestParam(defaultValue = "500") int limit,
+                                        java.security.Principal principal) {
+        Long userId = null;
+        if (!isAdmin()) {
+            userId = currentUserId(principal);
+            if (userId == null) return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(bookingChangeService.changesSince(userId, Math.max(0, since), Math.max(1, Math.min(limit, 2000))));
+    }
+
+    /**
+     * Keyset-paginated booking list ordered by (startTime, id), with optional filters; {@code from} /
+     * {@code to} bound the start time. Pass the {@code nextAfterStart} / {@code nextAfterId} of a response
+     * to get the following page; they are null on the last page. Non-admins only see their own bookings.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getBookingsPage(@RequestParam(required = false) Long roomId,
+                                             @RequestParam(required = false) Long userId,
+                                             @RequestParam(required = false) String status,
+                                             @RequestParam(required = false) String from,
+                                             @RequestParam(required = false) String to,
+                                             @RequestParam(required = false) String afterStart,
+                                             @RequestParam(required = false) Long afterId,
+                                             @RequestParam(defaultValue = "50") int size,
+                                             java.security.Principal principal) {
+        if ((afterStart == null) != (afterId == null)) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", "afterStart and afterId go together"));
+        }
+        if (!isAdmin()) {
+            userId = currentUserId(principal);
+            if (userId == null) return ResponseEntity.status(401).build();
+        }
+        int pageSize = Math.max(1, Math.min(size, 500));
+        try {
+            List<Booking> items = bookingService.getBookingsPage(roomId, userId, status, parseDateTime(from), parseDateTime(to),
+                    parseDateTime(afterStart), afterId, pageSize);
+            java.util.Map<String, Object> resp = new java.util.HashMap<>();
+            resp.put("items", bookingService.summaries(items));
+            Booking last = items.size() == pageSize ? items.get(items.size() - 1) : null;
+            resp.put("nextAfterStart", last == null ? null : last.getStartTime());
+            resp.put("nextAfterId", last == null ? null : last.getId());
+            return ResponseEntity.ok(resp);
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Streams every booking matching the filters as NDJSON, in constant memory. Same filters and scoping
+     * as {@link #getBookingsPage}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            java.security.Principal principal) {
+        if (!isAdmin()) {
+            userId = currentUserId(principal);
+            if (userId == null) return ResponseEntity.status(401).build();
+        }
+        Long owner = userId;
+        java.time.LocalDateTime start;
+        java.time.LocalDateTime end;
+        try {
+            start = parseDateTime(from);
+            end = parseDateTime(to);
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(org.springframework.http.MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> bookingExportService.export(roomId, owner, status, start, end, out));
+    }
+
+    private boolean isAdmin() {
+        org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    // principal name is username; null when it maps to no user
+    private Long currentUserId(java.security.Principal principal) {
+        if (principal == null) return null;
+        return bookingService.findUser(principal).map(com.example.meeting.security.UserIdentity::getId).orElse(null);
     }
 
     @PostMapping
@@ -47,7 +148,7 @@ public class BookingController {
         // require authenticated principal to assign ownership
         if (principal == null) return ResponseEntity.status(401).build();
         // Map principal username -> userId via service
-        java.util.Optional<com.example.meeting.model.UserAccount> uaOpt = bookingService.findUserByUsername(principal.getName());
+        java.util.Optional<com.example.meeting.security.UserIdentity> uaOpt = bookingService.findUser(principal);
         if (uaOpt.isEmpty()) return ResponseEntity.status(401).build();
         Long userId = uaOpt.get().getId();
         if (booking.getUserId() == null) booking.setUserId(userId);
@@ -76,12 +177,12 @@ public class BookingController {
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Booking>> getPendingBookings() {
+    public ResponseEntity<List<BookingSummary>> getPendingBookings() {
         // Only admins should access via security config, but double-check
         org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         boolean isAdmin = auth != null && auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         if (!isAdmin) return ResponseEntity.status(403).build();
-        return ResponseEntity.ok(bookingService.getPendingBookings());
+        return ResponseEntity.ok(bookingService.summaries(bookingService.getPendingBookings()));
     }
 
     @PostMapping("/{id}/approve")
@@ -105,21 +206,22 @@ public class BookingController {
     }
 
     @GetMapping("/room/{roomId}")
-    public ResponseEntity<List<Booking>> getRoomBookings(
+    public ResponseEntity<List<BookingSummary>> getRoomBookings(
             @PathVariable Long roomId,
             @RequestParam(required = false) String status) {
-        return ResponseEntity.ok(bookingService.getRoomBookings(roomId, status));
+        return ResponseEntity.ok(bookingService.summaries(bookingService.getRoomBookings(roomId, status)));
     }
 
     @GetMapping("/priority")
-    public ResponseEntity<List<Booking>> getHighPriorityBookings(
+    public ResponseEntity<List<BookingSummary>> getHighPriorityBookings(
             @RequestParam(defaultValue = "3") Integer minPriority) {
-        return ResponseEntity.ok(bookingService.getHighPriorityBookings(minPriority));
+        return ResponseEntity.ok(bookingService.summaries(bookingService.getHighPriorityBookings(minPriority)));
     }
 
     @GetMapping("/{id}/history")
     public ResponseEntity<List<BookingHistory>> getBookingHistory(@PathVariable Long id) {
-        return ResponseEntity.ok(bookingService.getBookingHistory(id));
+        // archived bookings keep their history in booking_history_archive
+        return ResponseEntity.ok(bookingArchiveService.getBookingHistory(id));
     }
 
     @PutMapping("/{id}/status")
@@ -191,7 +293,7 @@ public class BookingController {
                 boolean available = overlaps.isEmpty();
                 java.util.Map<String, Object> resp = new java.util.HashMap<>();
                 resp.put("available", available);
-                resp.put("overlaps", overlaps);
+                resp.put("overlaps", bookingService.summaries(overlaps));
                 return ResponseEntity.ok(resp);
             } catch (Exception ex) {
                 return ResponseEntity.badRequest().body(java.util.Map.of("error", ex.getMessage()));
@@ -206,151 +308,7 @@ public class BookingController {
                 @RequestParam(required = false) Integer capacity
         ) {
             try {
-        java.time.LocalDateTime s = parseDateTime(start);
-        java.time.LocalDateTime e = parseDateTime(end);
-                // If requested room is busy, find next available slots for same room (simple incremental search)
-                java.time.Duration duration = java.time.Duration.between(s, e);
-                java.time.LocalDateTime cursor = s.plusMinutes(30);
-                java.time.LocalDateTime limit = s.plusDays(7);
-                java.util.List<java.util.Map<String, java.time.LocalDateTime>> slots = new java.util.ArrayList<>();
-                while (cursor.isBefore(limit) && slots.size() < 5) {
-                    java.util.List<Booking> overlaps = bookingRepository.findOverlappingBookings(roomId, cursor, cursor.plus(duration));
-                    if (overlaps.isEmpty()) {
-                        java.util.Map<String, java.time.LocalDateTime> slot = new java.util.HashMap<>();
-                        slot.put("start", cursor);
-                        slot.put("end", cursor.plus(duration));
-                        slots.add(slot);
-                    }
-                    cursor = cursor.plusMinutes(30);
-                }
-
-                // Find alternate rooms matching capacity
-                java.util.List<com.example.meeting.model.Room> alternates = roomRepository.findByCapacityGreaterThanEqual(capacity == null ? 1 : capacity);
-                java.util.List<java.util.Map<String, Object>> scoredAlts = new java.util.ArrayList<>();
-                // original requested room equipment set for similarity calculation
-                com.example.meeting.model.Room requestedRoom = roomRepository.findById(roomId).orElse(null);
-                java.util.Set<String> requestedEquipNames = new java.util.HashSet<>();
-                if (requestedRoom != null && requestedRoom.getEquipment() != null) {
-                    requestedRoom.getEquipment().forEach(eq -> requestedEquipNames.add(eq.getName()));
-                }
-
-                for (com.example.meeting.model.Room r : alternates) {
-                    if (r.getId().equals(roomId)) continue;
-
-                    // compute equipment similarity with equipment-type weights
-                    java.util.Map<String, Double> typeWeights = new java.util.HashMap<>();
-                    typeWeights.put("VIDEO", 1.0);
-                    typeWeights.put("DISPLAY", 0.9);
-                    typeWeights.put("AUDIO", 0.7);
-                    typeWeights.put("CONTROL", 0.5);
-                    typeWeights.put("INPUT", 0.6);
-                    typeWeights.put("FURNITURE", 0.4);
-                    typeWeights.put("OTHER", 0.5);
-
-                    double weightedInter = 0.0;
-                    double weightedUnion = 0.0;
-                    java.util.Set<String> otherEquipNames = new java.util.HashSet<>();
-                    if (r.getEquipment() != null) {
-                        r.getEquipment().forEach(eq -> otherEquipNames.add(eq.getName()));
-                    }
-                    // Build maps for equipment type by name (if available)
-                    java.util.Map<String, String> reqMap = new java.util.HashMap<>();
-                    if (requestedRoom != null && requestedRoom.getEquipment() != null) {
-                        requestedRoom.getEquipment().forEach(eq -> reqMap.put(eq.getName(), eq.getType()));
-                    }
-                    java.util.Map<String, String> otherMap = new java.util.HashMap<>();
-                    if (r.getEquipment() != null) {
-                        r.getEquipment().forEach(eq -> otherMap.put(eq.getName(), eq.getType()));
-                    }
-
-                    java.util.Set<String> unionSet = new java.util.HashSet<>();
-                    unionSet.addAll(reqMap.keySet());
-                    unionSet.addAll(otherMap.keySet());
-                    for (String en : unionSet) {
-                        String t1 = reqMap.get(en);
-                        String t2 = otherMap.get(en);
-                        double w1 = t1 == null ? 0.0 : typeWeights.getOrDefault(t1.toUpperCase(), 0.5);
-                        double w2 = t2 == null ? 0.0 : typeWeights.getOrDefault(t2.toUpperCase(), 0.5);
-                        double maxw = Math.max(w1, w2);
-                        weightedUnion += maxw;
-                        if (t1 != null && t2 != null) {
-                            weightedInter += Math.min(w1, w2);
-                        }
-                    }
-                    double equipScore = weightedUnion > 0 ? (weightedInter / weightedUnion) : 0.0;
-
-                    // capacity closeness score (1.0 is perfect match or slightly larger)
-                    int reqCap = capacity == null ? 1 : capacity;
-                    int capDiff = Math.abs(r.getCapacity() - reqCap);
-                    double capScore = 1.0 / (1 + (double) capDiff / Math.max(1, reqCap));
-
-                    // proximity: simple similarity by location substring overlap
-                    double proximity = 0.0;
-                    if (requestedRoom != null && requestedRoom.getLocation() != null && r.getLocation() != null) {
-                        String a = requestedRoom.getLocation().toLowerCase();
-                        String b = r.getLocation().toLowerCase();
-                        if (a.equals(b)) proximity = 1.0;
-                        else if (a.contains(b) || b.contains(a)) proximity = 0.8;
-                        else if (a.split(" ").length > 0 && b.split(" ").length > 0) {
-                            // common word overlap
-                            java.util.Set<String> sa = new java.util.HashSet<>(java.util.Arrays.asList(a.split(" ")));
-                            java.util.Set<String> sb = new java.util.HashSet<>(java.util.Arrays.asList(b.split(" ")));
-                            sa.retainAll(sb);
-                            proximity = sa.size() > 0 ? Math.min(0.7, 0.2 + 0.1 * sa.size()) : 0.0;
-                        }
-                    }
-
-                    // historical approval rate for this room (look at booking history for bookings of this room)
-                    double approvalRate = 0.5; // default neutral
-                    try {
-                        java.util.List<com.example.meeting.model.Booking> roomBookings = bookingRepository.findByRoomId(r.getId());
-                        int approved = 0;
-                        int total = 0;
-                        for (com.example.meeting.model.Booking rb : roomBookings) {
-                            if (rb.getStatus() != null) {
-                                total++;
-                                if ("APPROVED".equals(rb.getStatus())) approved++;
-                            }
-                        }
-                        if (total > 0) approvalRate = ((double) approved) / total;
-                    } catch (Exception ignore) {}
-
-
-                    // find earliest slot for this room (first available within limit)
-                    java.time.LocalDateTime c = s;
-                    java.time.LocalDateTime found = null;
-                    while (c.isBefore(limit)) {
-                        java.util.List<Booking> ov = bookingRepository.findOverlappingBookings(r.getId(), c, c.plus(duration));
-                        if (ov.isEmpty()) { found = c; break; }
-                        c = c.plusMinutes(30);
-                    }
-
-                    double timeScore = found == null ? 0.0 : 1.0 / (1 + java.time.Duration.between(s, found).toHours());
-
-                    // combined score: weighted sum (equip 45%, capacity 20%, proximity 15%, approval 10%, time 10%)
-                    double combined = equipScore * 0.45 + capScore * 0.20 + proximity * 0.15 + approvalRate * 0.10 + timeScore * 0.10;
-
-                    java.util.Map<String, Object> m = new java.util.HashMap<>();
-                    m.put("room", r);
-                    m.put("availableFrom", found); 
-                    m.put("requestedCapacity", reqCap);
-                    m.put("requestedLocation", requestedRoom == null ? "" : requestedRoom.getLocation());                     
-                    m.put("timeScore", timeScore);
-                    m.put("score", combined);
-                    // include requested context so frontend can sort and display matches
-                    m.put("requestedAmenities", new java.util.ArrayList<>(requestedEquipNames));
-                    scoredAlts.add(m);
-                    if (scoredAlts.size() >= 50) break; // gather more and sort later
-                }
-
-                // sort alternatives by score desc and take top 5
-                scoredAlts.sort((a, b) -> Double.compare((Double) b.get("score"), (Double) a.get("score")));
-                java.util.List<java.util.Map<String, Object>> altList = scoredAlts.stream().limit(5).toList();
-
-                java.util.Map<String, Object> resp = new java.util.HashMap<>();
-                resp.put("nextSlots", slots);
-                resp.put("alternateRooms", altList);
-                return ResponseEntity.ok(resp);
+                return ResponseEntity.ok(suggestionService.suggest(roomId, parseDateTime(start), parseDateTime(end), capacity));
             } catch (Exception ex) {
                 return ResponseEntity.badRequest().body(java.util.Map.of("error", ex.getMessage()));
             }
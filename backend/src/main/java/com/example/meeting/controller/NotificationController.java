@@ -1,35 +1,141 @@
 package com.example.meeting.controller;
 
+import com.example.meeting.config.NotificationProperties;
 import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationArchive;
 import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.repository.NotificationArchiveRepository;
 import com.example.meeting.repository.NotificationRepository;
+import com.example.meeting.service.UnreadCounterService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationArchiveRepository notificationArchiveRepository;
+    private final UnreadCounterService unreadCounterService;
+    private final NotificationProperties notificationProperties;
 
-    public NotificationController(NotificationRepository notificationRepository) {
+    public NotificationController(NotificationRepository notificationRepository,
+                                  NotificationArchiveRepository notificationArchiveRepository,
+                                  UnreadCounterService unreadCounterService,
+                                  NotificationProperties notificationProperties) {
         this.notificationRepository = notificationRepository;
+        this.notificationArchiveRepository = notificationArchiveRepository;
+        this.unreadCounterService = unreadCounterService;
+        this.notificationProperties = notificationProperties;
     }
 
+    /**
+     * Newest notifications first, one page at a time; {@code archived=true} reads the archive instead.
+     * Kept for existing clients: returns only the first page. Use {@code /inbox} to page further.
+     */
     @GetMapping
-    public ResponseEntity<List<Notification>> getNotifications(@RequestParam(required = false) Long userId) {
-        if (userId == null) return ResponseEntity.ok(notificationRepository.findAll());
-        return ResponseEntity.ok(notificationRepository.findByUserIdOrderByScheduledAtDesc(userId));
+    public ResponseEntity<?> getNotifications(@RequestParam(required = false) Long userId,
+                                              @RequestParam(defaultValue = "false") boolean archived,
+                                              @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(page(userId, archived, null, null, limit));
+    }
+
+    /**
+     * Keyset-paginated inbox ordered by (scheduledAt, id) descending. Pass the {@code nextBeforeAt} /
+     * {@code nextBeforeId} of a response to get the following page; they are null on the last page.
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<Map<String, Object>> inbox(@RequestParam(required = false) Long userId,
+                                                     @RequestParam(defaultValue = "false") boolean archived,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeAt,
+                                                     @RequestParam(required = false) Long beforeId,
+                                                     @RequestParam(required = false) Integer limit) {
+        if ((beforeAt == null) != (beforeId == null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "beforeAt and beforeId go together"));
+        }
+        int size = pageSize(limit);
+        List<?> items = page(userId, archived, beforeAt, beforeId, size);
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("items", items);
+        LocalDateTime nextAt = null;
+        Long nextId = null;
+        if (items.size() == size) {
+            Object last = items.get(items.size() - 1);
+            if (last instanceof Notification) {
+                nextAt = ((Notification) last).getScheduledAt();
+                nextId = ((Notification) last).getId();
+            } else {
+                nextAt = ((NotificationArchive) last).getScheduledAt();
+                nextId = ((NotificationArchive) last).getId();
+            }
+        }
+        resp.put("nextBeforeAt", nextAt);
+        resp.put("nextBeforeId", nextId);
+        return ResponseEntity.ok(resp);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Object>> unreadCount(@RequestParam Long userId) {
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("userId", userId);
+        resp.put("unread", unreadCounterService.unread(userId));
+        return ResponseEntity.ok(resp);
     }
 
     @PostMapping("/{id}/mark-read")
     public ResponseEntity<?> markRead(@PathVariable Long id) {
         return notificationRepository.findById(id).map(n -> {
+            boolean wasUnread = n.getStatus() == NotificationStatus.SENT;
             n.setStatus(NotificationStatus.READ);
             notificationRepository.save(n);
+            if (wasUnread) unreadCounterService.adjust(n.getUserId(), -1);
             return ResponseEntity.ok().build();
         }).orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Marks the given notifications of a user as read, or all of them when {@code ids} is omitted.
+     * Body: {@code {"userId": 7, "ids": [1, 2]}}.
+     */
+    @PostMapping("/mark-read")
+    public ResponseEntity<Map<String, Object>> markReadBulk(@RequestBody Map<String, Object> body) {
+        Long userId;
+        List<Long> ids = null;
+        try {
+            userId = Long.valueOf(String.valueOf(body.get("userId")));
+            if (body.get("ids") instanceof List) {
+                ids = ((List<?>) body.get("ids")).stream().map(v -> Long.valueOf(String.valueOf(v))).toList();
+            }
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "userId (and optional ids) must be numbers"));
+        }
+        int updated = ids == null
+                ? notificationRepository.markAllRead(userId)
+                : ids.isEmpty() ? 0 : notificationRepository.markRead(userId, ids);
+        unreadCounterService.adjust(userId, -updated);
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("updated", updated);
+        resp.put("unread", unreadCounterService.unread(userId));
+        return ResponseEntity.ok(resp);
+    }
+
+    private List<?> page(Long userId, boolean archived, LocalDateTime beforeAt, Long beforeId, Integer limit) {
+        PageRequest page = PageRequest.of(0, pageSize(limit));
+        return archived
+                ? notificationArchiveRepository.findInboxPage(userId, beforeAt, beforeId, page)
+                : notificationRepository.findInboxPage(userId, beforeAt, beforeId, page);
+    }
+
+    private int pageSize(Integer limit) {
+        NotificationProperties.Inbox cfg = notificationProperties.getInbox();
+        if (limit == null || limit <= 0) return cfg.getDefaultPageSize();
+        return Math.min(limit, cfg.getMaxPageSize());
+    }
 }
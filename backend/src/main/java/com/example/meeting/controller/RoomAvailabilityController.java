@@ -0,0 +1,30 @@
+package com.example.meeting.controller;
+
+import com.example.meeting.event.RoomAvailabilityPublisher;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+/**
+ * STOMP counterpart of {@code /topic/rooms/{roomId}/availability}: subscribing to
+ * {@code /app/rooms/{roomId}/availability}, with the {@code last-event-id} header after a reconnect,
+ * answers once with what to apply before following the topic (see {@link RoomAvailabilityPublisher#resume}).
+ */
+@Controller
+public class RoomAvailabilityController {
+
+    private final RoomAvailabilityPublisher roomAvailabilityPublisher;
+
+    public RoomAvailabilityController(RoomAvailabilityPublisher roomAvailabilityPublisher) {
+        this.roomAvailabilityPublisher = roomAvailabilityPublisher;
+    }
+
+    @SubscribeMapping("/rooms/{roomId}/availability")
+    public Map<String, Object> resume(@DestinationVariable Long roomId,
+                                      @Header(name = "last-event-id", required = false) String lastEventId) {
+        return roomAvailabilityPublisher.resume(roomId, lastEventId);
+    }
+}
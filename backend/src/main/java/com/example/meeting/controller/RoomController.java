@@ -2,6 +2,7 @@ package com.example.meeting.controller;
 
 import com.example.meeting.model.Equipment;
 import com.example.meeting.model.Room;
+import com.example.meeting.model.RoomSummary;
 import com.example.meeting.service.RoomService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,7 +21,7 @@ public class RoomController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Room>> getAllRooms(
+    public ResponseEntity<List<RoomSummary>> getAllRooms(
             @RequestParam(required = false) Integer minCapacity,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) List<String> equipmentTypes) {
@@ -52,17 +53,17 @@ public class RoomController {
     }
 
     @GetMapping("/with-projector")
-    public ResponseEntity<List<Room>> getRoomsWithProjector() {
+    public ResponseEntity<List<RoomSummary>> getRoomsWithProjector() {
         return ResponseEntity.ok(roomService.findRooms(null, null, List.of("PROJECTOR")));
     }
 
     @GetMapping("/with-whiteboard")
-    public ResponseEntity<List<Room>> getRoomsWithWhiteboard() {
+    public ResponseEntity<List<RoomSummary>> getRoomsWithWhiteboard() {
         return ResponseEntity.ok(roomService.findRooms(null, null, List.of("WHITEBOARD")));
     }
 
     @GetMapping("/with-video-conferencing")
-    public ResponseEntity<List<Room>> getRoomsWithVideoConferencing() {
+    public ResponseEntity<List<RoomSummary>> getRoomsWithVideoConferencing() {
         return ResponseEntity.ok(roomService.findRooms(null, null, List.of("VIDEO_CONFERENCING")));
     }
 
@@ -72,7 +73,7 @@ public class RoomController {
     }
 
     @GetMapping("/available")
-    public ResponseEntity<java.util.List<Room>> getAvailableRooms(
+    public ResponseEntity<java.util.List<RoomSummary>> getAvailableRooms(
             @RequestParam String start,
             @RequestParam String end,
             @RequestParam(required = false) String location) {
@@ -0,0 +1,74 @@
+package com.example.meeting.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing state read by {@link ReplicaRoutingDataSource}. Only threads inside a scope opened by
+ * {@link ReadRoutingFilter} (web requests) may read from the replica; schedulers and other background work
+ * always use the primary, so their check-then-act logic never sees stale rows.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    private static final class Scope {
+        boolean primaryOnly;
+        boolean wrote;
+    }
+
+    /** Opens a scope; {@code primaryOnly} pins every read of it to the primary (read-your-writes). */
+    public static void begin(boolean primaryOnly) {
+        Scope scope = new Scope();
+        scope.primaryOnly = primaryOnly;
+        SCOPE.set(scope);
+    }
+
+    /** Closes the scope and tells whether it wrote to the primary. */
+    public static boolean end() {
+        Scope scope = SCOPE.get();
+        SCOPE.remove();
+        return scope != null && scope.wrote;
+    }
+
+    /**
+     * Wraps work handed to another thread so that it runs in a scope like the caller's: replica reads
+     * stay allowed only if they were for the caller, and a pinned caller stays pinned. Without a
+     * caller scope the task gets none either (primary only). Writes made by the task are not reported
+     * back to the caller's scope.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Scope caller = SCOPE.get();
+        if (caller == null) return task;
+        boolean primaryOnly = caller.primaryOnly;
+        return () -> {
+            begin(primaryOnly);
+            try {
+                return task.get();
+            } finally {
+                end();
+            }
+        };
+    }
+
+    /** Pins the rest of the current scope to the primary. */
+    public static void primaryOnly() {
+        Scope scope = SCOPE.get();
+        if (scope != null) scope.primaryOnly = true;
+    }
+
+    static boolean replicaAllowed() {
+        Scope scope = SCOPE.get();
+        return scope != null && !scope.primaryOnly;
+    }
+
+    // later reads of the scope must see the write
+    static void wrote() {
+        Scope scope = SCOPE.get();
+        if (scope != null) {
+            scope.wrote = true;
+            scope.primaryOnly = true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.meeting.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a {@link ReadRouting} scope per request, which lets its read-only transactions use the replica.
+ * Reads stay on the primary (read-your-writes) when
+ * <ul>
+ *   <li>the client sends {@code X-Read-Your-Writes: true},</li>
+ *   <li>the same request already wrote, or</li>
+ *   <li>the session, or the signed-in user, wrote less than the staleness tolerance ago, so the replica may
+ *   not have the write yet.</li>
+ * </ul>
+ * Token clients have no session, so their last write is also kept per principal name, in memory for the
+ * staleness tolerance. That map is per node: a token client whose requests are spread over several nodes
+ * without stickiness sends {@code X-Read-Your-Writes: true} on reads that must see its own writes.
+ */
+public class ReadRoutingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+    static final String LAST_WRITE_AT = ReadRoutingFilter.class.getName() + ".lastWriteAt";
+
+    // principals tracked before stale entries are swept on the next write
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long maxStalenessMs;
+    private final ConcurrentHashMap<String, Long> lastWriteByPrincipal = new ConcurrentHashMap<>();
+
+    public ReadRoutingFilter(long maxStalenessMs) {
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Object lastWrite = session == null ? null : session.getAttribute(LAST_WRITE_AT);
+        Principal principal = request.getUserPrincipal();
+        if (!(lastWrite instanceof Long) && principal != null) lastWrite = lastWriteByPrincipal.get(principal.getName());
+        boolean recentWrite = lastWrite instanceof Long at && System.currentTimeMillis() - at <= maxStalenessMs;
+        ReadRouting.begin(recentWrite || "true".equalsIgnoreCase(request.getHeader(HEADER)));
+        boolean wrote;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            wrote = ReadRouting.end();
+        }
+        if (wrote) {
+            long now = System.currentTimeMillis();
+            // the principal and the session may have been set up by this request (e.g. login)
+            principal = request.getUserPrincipal();
+            if (principal != null) {
+                if (lastWriteByPrincipal.size() >= SWEEP_THRESHOLD) {
+                    lastWriteByPrincipal.values().removeIf(at -> now - at > maxStalenessMs);
+                }
+                lastWriteByPrincipal.put(principal.getName(), now);
+            }
+            session = request.getSession(false);
+            if (session != null) {
+                try {
+                    session.setAttribute(LAST_WRITE_AT, now);
+                } catch (IllegalStateException ignored) {} // invalidated by the request (logout)
+            }
+        }
+    }
+}
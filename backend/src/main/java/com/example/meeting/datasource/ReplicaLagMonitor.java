@@ -0,0 +1,71 @@
+package com.example.meeting.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures how far the replica is behind. Each {@link #heartbeat()} writes the current time to
+ * {@code replica_heartbeat} on the primary and reads the replicated row back from the replica: the
+ * difference is the replication lag. A replica without the row, one that cannot be reached, or a
+ * measurement older than a few heartbeats counts as stale.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxStalenessMs;
+    private final long heartbeatMs;
+
+    private volatile long lagMs = Long.MAX_VALUE;
+    private volatile long measuredAt;
+    private volatile boolean tableReady;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxStalenessMs, long heartbeatMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxStalenessMs = maxStalenessMs;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        try {
+            if (!tableReady) {
+                primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+                tableReady = true;
+            }
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (Exception e) {
+            log.warn("Replica heartbeat write failed: {}", e.getMessage());
+        }
+        long lag;
+        try {
+            Long seen = replica.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+            lag = seen == null ? Long.MAX_VALUE : Math.max(0, now - seen);
+        } catch (Exception e) {
+            lag = Long.MAX_VALUE;
+        }
+        if ((lag > maxStalenessMs) != (lagMs > maxStalenessMs)) {
+            log.info("Replica {} (lag {} ms)", lag > maxStalenessMs ? "stale, reads go to the primary" : "in sync",
+                    lag == Long.MAX_VALUE ? "unknown" : lag);
+        }
+        lagMs = lag;
+        measuredAt = now;
+    }
+
+    /** True when the replica was within the staleness tolerance at a recent heartbeat. */
+    public boolean isFresh() {
+        return lagMs <= maxStalenessMs && System.currentTimeMillis() - measuredAt <= 3 * heartbeatMs + maxStalenessMs;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+}
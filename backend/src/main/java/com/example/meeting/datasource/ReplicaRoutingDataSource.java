@@ -0,0 +1,39 @@
+package com.example.meeting.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the replica and everything else to the primary.
+ * The replica is used only when the thread is allowed to (see {@link ReadRouting}) and the replica is
+ * within the staleness tolerance of {@link ReplicaLagMonitor}.
+ * <p>
+ * The read-only flag is known only once the transaction has started, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the route is chosen at the
+ * first statement, not when the transaction manager asks for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadRouting.replicaAllowed() && lagMonitor.isFresh() ? Route.REPLICA : Route.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) ReadRouting.wrote();
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.meeting.event;
+
+import com.example.meeting.model.Booking;
+
+/**
+ * Booking cancelled by its owner or an admin, or deleted outright ({@link #isDeleted()}).
+ */
+public class BookingCancelled extends BookingEvent {
+
+    private final String previousStatus;
+    private final boolean deleted;
+
+    public BookingCancelled(Booking booking, String previousStatus, boolean deleted) {
+        super(booking);
+        this.previousStatus = previousStatus;
+        this.deleted = deleted;
+    }
+
+    public String getPreviousStatus() { return previousStatus; }
+    public boolean isDeleted() { return deleted; }
+}
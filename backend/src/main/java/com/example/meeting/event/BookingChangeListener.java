@@ -0,0 +1,32 @@
+package com.example.meeting.event;
+
+import com.example.meeting.service.BookingChangeService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Advances the booking change sequence inside the mutating transaction, so delta-syncing clients see
+ * the change exactly when it commits.
+ */
+@Component
+public class BookingChangeListener implements BookingEventListener {
+
+    private final BookingChangeService bookingChangeService;
+
+    public BookingChangeListener(BookingChangeService bookingChangeService) {
+        this.bookingChangeService = bookingChangeService;
+    }
+
+    @Override
+    public Phase phase() {
+        return Phase.IN_TRANSACTION;
+    }
+
+    @Override
+    public void onBookingEvent(BookingEvent event) {
+        if (event instanceof BookingCancelled && ((BookingCancelled) event).isDeleted()) {
+            bookingChangeService.recordDeletion(event.getBookingId(), event.getUserId());
+        } else {
+            bookingChangeService.recordChange(event.getBookingId());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.meeting.event;
+
+import com.example.meeting.model.Booking;
+
+public class BookingCreated extends BookingEvent {
+
+    public BookingCreated(Booking booking) {
+        super(booking);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.meeting.event;
+
+import com.example.meeting.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Base of the booking lifecycle events published on the {@link BookingEventBus}. Events carry a
+ * snapshot of the booking taken when it was published, never the managed entity, so listeners on
+ * other threads can read them safely.
+ */
+public abstract class BookingEvent {
+
+    private final Long bookingId;
+    private final Long userId;
+    private final Long roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final String status;
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    protected BookingEvent(Booking booking) {
+        this.bookingId = booking.getId();
+        this.userId = booking.getUserId();
+        this.roomId = booking.getRoomId();
+        this.startTime = booking.getStartTime();
+        this.endTime = booking.getEndTime();
+        this.status = booking.getStatus();
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public Long getUserId() { return userId; }
+    public Long getRoomId() { return roomId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public String getStatus() { return status; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{bookingId=" + bookingId + ", status=" + status + "}";
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.meeting.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * In-process bus for booking lifecycle events.
+ * <p>
+ * IN_TRANSACTION listeners run synchronously in the publisher's transaction. AFTER_COMMIT listeners
+ * run once the transaction has committed (immediately when there is none) on one of
+ * {@code events.stripes} single-threaded executors chosen by booking id, so events of one booking are
+ * seen in publication order while different bookings are handled in parallel, off the request thread.
+ * A rolled-back change publishes nothing to them. AFTER_COMMIT delivery is best effort: when a
+ * stripe's queue is full the event is dropped and counted; durable side effects belong in the outbox.
+ */
+@Component
+public class BookingEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingEventBus.class);
+
+    private final List<BookingEventListener> inTransaction;
+    private final List<BookingEventListener> afterCommit;
+    private final ThreadPoolExecutor[] stripes;
+    private final Counter dropped;
+
+    public BookingEventBus(List<BookingEventListener> listeners,
+                           @Value("${events.stripes:4}") int stripeCount,
+                           @Value("${events.queue-capacity:10000}") int queueCapacity,
+                           Optional<MeterRegistry> meterRegistry) {
+        this.inTransaction = listeners.stream()
+                .filter(l -> l.phase() == BookingEventListener.Phase.IN_TRANSACTION).collect(Collectors.toList());
+        this.afterCommit = listeners.stream()
+                .filter(l -> l.phase() == BookingEventListener.Phase.AFTER_COMMIT).collect(Collectors.toList());
+        this.stripes = new ThreadPoolExecutor[Math.max(1, stripeCount)];
+        AtomicInteger seq = new AtomicInteger();
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                        Thread t = new Thread(r, "booking-events-" + seq.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+        this.dropped = meterRegistry.map(r -> Counter.builder("booking.events.dropped")
+                .description("Booking events not delivered to after-commit listeners because the queue was full")
+                .register(r)).orElse(null);
+    }
+
+    public void publish(BookingEvent event) {
+        for (BookingEventListener l : inTransaction) {
+            l.onBookingEvent(event);
+        }
+        if (afterCommit.isEmpty()) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(BookingEvent event) {
+        long key = event.getBookingId() == null ? 0 : event.getBookingId();
+        ThreadPoolExecutor stripe = stripes[(int) Math.floorMod(key, (long) stripes.length)];
+        try {
+            stripe.execute(() -> {
+                for (BookingEventListener l : afterCommit) {
+                    try {
+                        l.onBookingEvent(event);
+                    } catch (Exception e) {
+                        log.warn("Booking event listener {} failed on {}: {}", l.getClass().getSimpleName(), event, e.getMessage());
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (dropped != null) dropped.increment();
+            log.warn("Booking event queue full, dropped {}", event);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.meeting.event;
+
+/**
+ * Subscriber of the {@link BookingEventBus}. Any bean implementing it is registered automatically.
+ */
+public interface BookingEventListener {
+
+    enum Phase {
+        /** Called synchronously inside the publishing transaction; a failure rolls the change back. */
+        IN_TRANSACTION,
+        /** Called after commit on the bus executor, in publication order for a given booking. */
+        AFTER_COMMIT
+    }
+
+    void onBookingEvent(BookingEvent event);
+
+    default Phase phase() {
+        return Phase.AFTER_COMMIT;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.meeting.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Analytics counters fed from the bus: {@code booking.events} tagged by event type and resulting status.
+ */
+@Component
+public class BookingEventMetrics implements BookingEventListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public BookingEventMetrics(Optional<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.orElse(null);
+    }
+
+    @Override
+    public void onBookingEvent(BookingEvent event) {
+        if (meterRegistry == null) return;
+        meterRegistry.counter("booking.events",
+                "type", event.getClass().getSimpleName(),
+                "status", event.getStatus() == null ? "none" : event.getStatus()).increment();
+    }
+}
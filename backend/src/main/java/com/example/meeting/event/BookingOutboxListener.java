@@ -0,0 +1,48 @@
+package com.example.meeting.event;
+
+import com.example.meeting.service.OutboxService;
+import com.example.meeting.service.ReminderService;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Turns lifecycle events into outbox entries, inside the mutating transaction, for the durable side
+ * effects (history, reminders, facilities requests): cancelled, rejected or deleted bookings lose
+ * their pending notifications; moved or reinstated bookings get them recomputed.
+ */
+@Component
+public class BookingOutboxListener implements BookingEventListener {
+
+    private final OutboxService outboxService;
+
+    public BookingOutboxListener(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    public Phase phase() {
+        return Phase.IN_TRANSACTION;
+    }
+
+    @Override
+    public void onBookingEvent(BookingEvent event) {
+        Long id = event.getBookingId();
+        if (event instanceof BookingCreated) {
+            outboxService.bookingCreated(id, event.getStatus(), event.getOccurredAt());
+        } else if (event instanceof BookingCancelled) {
+            BookingCancelled e = (BookingCancelled) event;
+            if (e.isDeleted() || ReminderService.isActive(e.getPreviousStatus())) outboxService.bookingCancelled(id);
+        } else if (event instanceof BookingStatusChanged) {
+            boolean wasActive = ReminderService.isActive(((BookingStatusChanged) event).getPreviousStatus());
+            boolean active = ReminderService.isActive(event.getStatus());
+            if (wasActive && !active) outboxService.bookingCancelled(id);
+            if (!wasActive && active) outboxService.bookingRescheduled(id);
+        } else if (event instanceof BookingRescheduled) {
+            BookingRescheduled e = (BookingRescheduled) event;
+            boolean moved = !Objects.equals(e.getPreviousStartTime(), e.getStartTime())
+                    || !Objects.equals(e.getPreviousRoomId(), e.getRoomId());
+            if (moved && ReminderService.isActive(e.getStatus())) outboxService.bookingRescheduled(id);
+        }
+    }
+}
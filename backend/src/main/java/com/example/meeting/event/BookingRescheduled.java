@@ -0,0 +1,26 @@
+package com.example.meeting.event;
+
+import com.example.meeting.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking moved to another slot and/or room. The new values are those of the base event.
+ */
+public class BookingRescheduled extends BookingEvent {
+
+    private final Long previousRoomId;
+    private final LocalDateTime previousStartTime;
+    private final LocalDateTime previousEndTime;
+
+    public BookingRescheduled(Booking booking, Long previousRoomId, LocalDateTime previousStartTime, LocalDateTime previousEndTime) {
+        super(booking);
+        this.previousRoomId = previousRoomId;
+        this.previousStartTime = previousStartTime;
+        this.previousEndTime = previousEndTime;
+    }
+
+    public Long getPreviousRoomId() { return previousRoomId; }
+    public LocalDateTime getPreviousStartTime() { return previousStartTime; }
+    public LocalDateTime getPreviousEndTime() { return previousEndTime; }
+}
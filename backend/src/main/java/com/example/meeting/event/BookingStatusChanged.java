@@ -0,0 +1,21 @@
+package com.example.meeting.event;
+
+import com.example.meeting.model.Booking;
+
+/**
+ * Approval, rejection or any other status update other than a cancellation.
+ */
+public class BookingStatusChanged extends BookingEvent {
+
+    private final String previousStatus;
+    private final String changedBy;
+
+    public BookingStatusChanged(Booking booking, String previousStatus, String changedBy) {
+        super(booking);
+        this.previousStatus = previousStatus;
+        this.changedBy = changedBy;
+    }
+
+    public String getPreviousStatus() { return previousStatus; }
+    public String getChangedBy() { return changedBy; }
+}
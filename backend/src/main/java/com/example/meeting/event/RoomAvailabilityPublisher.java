@@ -0,0 +1,232 @@
+package com.example.meeting.event;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.RoomRepository;
+import com.example.meeting.service.ReminderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pushes room calendar deltas over STOMP so clients can keep a local calendar instead of polling
+ * {@code /api/bookings/availability}.
+ * <p>
+ * Every booking event becomes one or two deltas ({@code ADDED} or {@code FREED} slot) buffered per
+ * room; {@link #flush()} runs on a short fixed delay and sends what accumulated as one message to
+ * {@code /topic/rooms/{roomId}/availability} and one per floor to {@code /topic/floors/{floor}/availability}.
+ * Within a window a slot that was added and freed again (or the reverse) cancels out.
+ * <p>
+ * Each room message carries an event id {@code stream:seq}. Sequences are per room and held in memory, so
+ * they only mean something within one {@code stream}, which is drawn anew whenever this node starts. A
+ * client (re)subscribing to {@code /app/rooms/{roomId}/availability} with a {@code last-event-id} header
+ * gets the messages it missed if this node still holds them ({@code REPLAY}), otherwise - first
+ * subscription, other node, restart, or too far behind - the room's current bookings ({@code SNAPSHOT}).
+ * Deltas are keyed by booking id, so applying one the snapshot already reflects is harmless.
+ */
+@Component
+public class RoomAvailabilityPublisher implements BookingEventListener {
+
+    private static final Pattern FLOOR = Pattern.compile("(?i)\\bfloor\\s+(\\w+)");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final int historySize;
+    private final String stream = UUID.randomUUID().toString();
+
+    private final Map<Long, Map<String, Map<String, Object>>> pending = new ConcurrentHashMap<>();
+    private final Map<Long, RoomStream> streams = new ConcurrentHashMap<>();
+
+    public RoomAvailabilityPublisher(Optional<SimpMessagingTemplate> messagingTemplate, RoomRepository roomRepository,
+                                     BookingRepository bookingRepository,
+                                     @Value("${availability.push.history:64}") int historySize) {
+        this.messagingTemplate = messagingTemplate.orElse(null);
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.historySize = historySize;
+    }
+
+    @Override
+    public void onBookingEvent(BookingEvent event) {
+        boolean active = ReminderService.isActive(event.getStatus());
+        if (event instanceof BookingCreated) {
+            if (active) add(event.getRoomId(), "ADDED", event, event.getStartTime(), event.getEndTime());
+        } else if (event instanceof BookingCancelled) {
+            BookingCancelled e = (BookingCancelled) event;
+            if (e.isDeleted() || ReminderService.isActive(e.getPreviousStatus())) {
+                add(event.getRoomId(), "FREED", event, event.getStartTime(), event.getEndTime());
+            }
+        } else if (event instanceof BookingStatusChanged) {
+            boolean wasActive = ReminderService.isActive(((BookingStatusChanged) event).getPreviousStatus());
+            if (wasActive != active) {
+                add(event.getRoomId(), active ? "ADDED" : "FREED", event, event.getStartTime(), event.getEndTime());
+            }
+        } else if (event instanceof BookingRescheduled) {
+            if (!active) return;
+            BookingRescheduled e = (BookingRescheduled) event;
+            add(e.getPreviousRoomId(), "FREED", event, e.getPreviousStartTime(), e.getPreviousEndTime());
+            add(event.getRoomId(), "ADDED", event, event.getStartTime(), event.getEndTime());
+        }
+    }
+
+    private void add(Long roomId, String op, BookingEvent event, LocalDateTime start, LocalDateTime end) {
+        if (roomId == null || start == null || end == null) return;
+        String slot = event.getBookingId() + "|" + start + "|" + end;
+        Map<String, Map<String, Object>> deltas = pending.computeIfAbsent(roomId, id -> new LinkedHashMap<>());
+        synchronized (deltas) {
+            if (pending.get(roomId) != deltas) {
+                // taken by a concurrent flush; start the next window
+                add(roomId, op, event, start, end);
+                return;
+            }
+            Map<String, Object> previous = deltas.get(slot);
+            if (previous != null && !op.equals(previous.get("op"))) {
+                // added then freed within the window (or the reverse): nothing changed for clients
+                deltas.remove(slot);
+                return;
+            }
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("op", op);
+            delta.put("bookingId", event.getBookingId());
+            delta.put("start", start);
+            delta.put("end", end);
+            delta.put("status", event.getStatus());
+            deltas.put(slot, delta);
+        }
+    }
+
+    /**
+     * Sends the deltas buffered since the last call. Returns the number of room messages sent.
+     */
+    public int flush() {
+        Map<Long, List<Map<String, Object>>> batch = new LinkedHashMap<>();
+        for (Long roomId : new ArrayList<>(pending.keySet())) {
+            Map<String, Map<String, Object>> deltas = pending.get(roomId);
+            if (deltas == null) continue;
+            synchronized (deltas) {
+                pending.remove(roomId, deltas);
+                if (!deltas.isEmpty()) batch.put(roomId, new ArrayList<>(deltas.values()));
+            }
+        }
+        if (batch.isEmpty() || messagingTemplate == null) return 0;
+
+        Map<Long, String> floors = new LinkedHashMap<>();
+        for (Room r : roomRepository.findAllById(batch.keySet())) floors.put(r.getId(), floorOf(r.getLocation()));
+        Map<String, List<Map<String, Object>>> byFloor = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, List<Map<String, Object>>> e : batch.entrySet()) {
+            Map<String, Object> msg = new LinkedHashMap<>();
+            msg.put("roomId", e.getKey());
+            msg.put("at", now);
+            msg.put("deltas", e.getValue());
+            streams.computeIfAbsent(e.getKey(), id -> new RoomStream()).append(msg);
+            try {
+                messagingTemplate.convertAndSend("/topic/rooms/" + e.getKey() + "/availability", msg);
+            } catch (Exception ignored) {}
+            String floor = floors.get(e.getKey());
+            if (floor != null) byFloor.computeIfAbsent(floor, f -> new ArrayList<>()).add(msg);
+        }
+        for (Map.Entry<String, List<Map<String, Object>>> e : byFloor.entrySet()) {
+            try {
+                messagingTemplate.convertAndSend("/topic/floors/" + e.getKey() + "/availability",
+                        Map.of("floor", e.getKey(), "at", now, "rooms", e.getValue()));
+            } catch (Exception ignored) {}
+        }
+        return batch.size();
+    }
+
+    /**
+     * What a client resuming {@code roomId} after {@code lastEventId} (null on a first subscription) should
+     * apply before the live topic: the missed messages, or a snapshot when this node cannot tell what they were.
+     */
+    public Map<String, Object> resume(Long roomId, String lastEventId) {
+        RoomStream room = streams.computeIfAbsent(roomId, id -> new RoomStream());
+        long seq;
+        List<Map<String, Object>> missed;
+        synchronized (room) {
+            seq = room.seq;
+            missed = room.since(lastEventId);
+        }
+        Map<String, Object> msg = new LinkedHashMap<>();
+        msg.put("roomId", roomId);
+        msg.put("id", stream + ":" + seq);
+        msg.put("seq", seq);
+        if (missed != null) {
+            msg.put("type", "REPLAY");
+            msg.put("messages", missed);
+            return msg;
+        }
+        // read after taking seq: anything committed since shows up in later deltas as well
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> slots = new ArrayList<>();
+        for (Booking b : bookingRepository.findByRoomId(roomId)) {
+            if (!ReminderService.isActive(b.getStatus()) || b.getEndTime() == null || !b.getEndTime().isAfter(now)) continue;
+            Map<String, Object> slot = new LinkedHashMap<>();
+            slot.put("bookingId", b.getId());
+            slot.put("start", b.getStartTime());
+            slot.put("end", b.getEndTime());
+            slot.put("status", b.getStatus());
+            slots.add(slot);
+        }
+        msg.put("type", "SNAPSHOT");
+        msg.put("at", now);
+        msg.put("slots", slots);
+        return msg;
+    }
+
+    /** Sequence and recent messages of one room on this node. */
+    private final class RoomStream {
+
+        private long seq;
+        private final ArrayDeque<Map<String, Object>> history = new ArrayDeque<>();
+
+        synchronized void append(Map<String, Object> msg) {
+            seq++;
+            msg.put("id", stream + ":" + seq);
+            msg.put("seq", seq);
+            history.addLast(msg);
+            while (history.size() > historySize) history.removeFirst();
+        }
+
+        /** Messages after {@code lastEventId}, or null when it is not one of ours or no longer held. */
+        List<Map<String, Object>> since(String lastEventId) {
+            if (lastEventId == null || !lastEventId.startsWith(stream + ":")) return null;
+            long last;
+            try {
+                last = Long.parseLong(lastEventId.substring(stream.length() + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            long oldest = history.isEmpty() ? seq + 1 : (Long) history.peekFirst().get("seq");
+            if (last > seq || last < oldest - 1) return null;
+            List<Map<String, Object>> missed = new ArrayList<>();
+            for (Map<String, Object> msg : history) {
+                if ((Long) msg.get("seq") > last) missed.add(msg);
+            }
+            return missed;
+        }
+    }
+
+    /**
+     * Floor of a room location such as "Floor 4 South Wing", or null when it names none.
+     */
+    static String floorOf(String location) {
+        if (location == null) return null;
+        Matcher m = FLOOR.matcher(location);
+        return m.find() ? m.group(1).toLowerCase() : null;
+    }
+}
@@ -8,7 +8,8 @@ import java.time.Instant;
 public class ApprovalLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "approval_log_seq")
+    @SequenceGenerator(name = "approval_log_seq", sequenceName = "approval_log_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "booking_id")
@@ -5,11 +5,27 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        // upcoming-window scans (virtual reminders, pending queue)
+        @Index(name = "idx_bookings_status_start", columnList = "status, startTime"),
+        // overlap checks: range on startTime within a room, endTime and status read from the index
+        @Index(name = "idx_bookings_room_time_status", columnList = "roomId, startTime, endTime, status"),
+        // keyset-paginated lists and the export, ordered by (startTime, id)
+        @Index(name = "idx_bookings_start_id", columnList = "startTime, id"),
+        @Index(name = "idx_bookings_user_start", columnList = "userId, startTime"),
+        // delta sync (/api/bookings/changes)
+        @Index(name = "idx_bookings_change_seq", columnList = "changeSeq"),
+        @Index(name = "idx_bookings_user_change_seq", columnList = "userId, changeSeq")
+})
 public class Booking {
 
+    // longest allowed booking; overlap queries rely on it to bound their index range
+    public static final java.time.Duration MAX_DURATION = java.time.Duration.ofHours(24);
+
+    // ids are taken from the sequence in blocks (pooled-lo), so inserts can be sent as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -24,6 +40,7 @@ public class Booking {
     @Column(nullable = false)
     private LocalDateTime endTime;
 
+    @Convert(converter = BookingStatusConverter.class)
     @Column(nullable = false)
     private String status;
     
@@ -33,6 +50,8 @@ public class Booking {
     @Column(nullable = false)
     private Integer attendeesCount;
     
+    // entity paths that still walk many bookings load facilities 100 bookings per query
+    @org.hibernate.annotations.BatchSize(size = 100)
     @ElementCollection
     @CollectionTable(name = "booking_required_facilities",
             joinColumns = @JoinColumn(name = "booking_id"))
@@ -49,6 +68,10 @@ public class Booking {
     private Double decisionConfidence;
     private String decisionRationale;
 
+    // Position in the booking change sequence; only written by BookingChangeService
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
     // Getters and Setters
 
     public Long getId() {
@@ -158,4 +181,12 @@ public class Booking {
     public void setNotes(String notes) {
         this.notes = notes;
     }
-}
\ No newline at end of file
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.meeting.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cold copy of a booking that ended more than the retention period ago, moved out of the hot
+ * {@code bookings} table by the archival job. Keeps the original id; columns match {@link Booking}.
+ */
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_room_start", columnList = "roomId, startTime"),
+        @Index(name = "idx_bookings_archive_user_start", columnList = "userId, startTime")
+})
+public class BookingArchive {
+
+    @Id
+    private Long id;
+
+    private Long roomId;
+
+    private Long userId;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    @Convert(converter = BookingStatusConverter.class)
+    private String status;
+
+    private String purpose;
+
+    private Integer attendeesCount;
+
+    @org.hibernate.annotations.BatchSize(size = 100)
+    @ElementCollection
+    @CollectionTable(name = "bookings_archive_required_facilities",
+            joinColumns = @JoinColumn(name = "booking_id"))
+    @Column(name = "facility")
+    private Set<String> requiredFacilities;
+
+    private Integer priority;
+
+    @Column(length = 1000)
+    private String notes;
+
+    private Double decisionConfidence;
+
+    private String decisionRationale;
+
+    private Long changeSeq;
+
+    private LocalDateTime archivedAt;
+
+    /** Detached {@link Booking} with the same values, for read paths that span hot and archived bookings. */
+    public Booking toBooking() {
+        Booking b = new Booking();
+        b.setId(id);
+        b.setRoomId(roomId);
+        b.setUserId(userId);
+        b.setStartTime(startTime);
+        b.setEndTime(endTime);
+        b.setStatus(status);
+        b.setPurpose(purpose);
+        b.setAttendeesCount(attendeesCount);
+        b.setRequiredFacilities(requiredFacilities == null ? null : new HashSet<>(requiredFacilities));
+        b.setPriority(priority);
+        b.setNotes(notes);
+        b.setDecisionConfidence(decisionConfidence);
+        b.setDecisionRationale(decisionRationale);
+        b.setChangeSeq(changeSeq);
+        return b;
+    }
+
+    // getters/setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getPurpose() { return purpose; }
+    public void setPurpose(String purpose) { this.purpose = purpose; }
+    public Integer getAttendeesCount() { return attendeesCount; }
+    public void setAttendeesCount(Integer attendeesCount) { this.attendeesCount = attendeesCount; }
+    public Set<String> getRequiredFacilities() { return requiredFacilities; }
+    public void setRequiredFacilities(Set<String> requiredFacilities) { this.requiredFacilities = requiredFacilities; }
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    public Double getDecisionConfidence() { return decisionConfidence; }
+    public void setDecisionConfidence(Double decisionConfidence) { this.decisionConfidence = decisionConfidence; }
+    public String getDecisionRationale() { return decisionRationale; }
+    public void setDecisionRationale(String decisionRationale) { this.decisionRationale = decisionRationale; }
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
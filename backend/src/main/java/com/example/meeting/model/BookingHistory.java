@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class BookingHistory {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_history_seq")
+    @SequenceGenerator(name = "booking_history_seq", sequenceName = "booking_history_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -0,0 +1,67 @@
+package com.example.meeting.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a {@link BookingHistory} row, archived together with its booking. Keeps the original id.
+ */
+@Entity
+@Table(name = "booking_history_archive", indexes = {
+        @Index(name = "idx_booking_history_archive_booking", columnList = "bookingId, changedAt")
+})
+public class BookingHistoryArchive {
+
+    @Id
+    private Long id;
+
+    private Long bookingId;
+
+    private String previousStatus;
+
+    private String newStatus;
+
+    private LocalDateTime changedAt;
+
+    private String changedBy;
+
+    @Column(length = 1000)
+    private String reason;
+
+    private Double aiConfidence;
+
+    @Column(length = 1000)
+    private String aiRationale;
+
+    private LocalDateTime archivedAt;
+
+    /** The row as a detached {@link BookingHistory} of {@code booking}, same shape as a hot history entry. */
+    public BookingHistory toHistory(Booking booking) {
+        BookingHistory h = new BookingHistory(booking, previousStatus, newStatus, changedBy, reason, aiConfidence, aiRationale);
+        h.setId(id);
+        h.setChangedAt(changedAt);
+        return h;
+    }
+
+    // getters/setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public String getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(String previousStatus) { this.previousStatus = previousStatus; }
+    public String getNewStatus() { return newStatus; }
+    public void setNewStatus(String newStatus) { this.newStatus = newStatus; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+    public Double getAiConfidence() { return aiConfidence; }
+    public void setAiConfidence(Double aiConfidence) { this.aiConfidence = aiConfidence; }
+    public String getAiRationale() { return aiRationale; }
+    public void setAiRationale(String aiRationale) { this.aiRationale = aiRationale; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
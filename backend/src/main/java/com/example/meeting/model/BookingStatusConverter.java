@@ -0,0 +1,37 @@
+package com.example.meeting.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.List;
+
+/**
+ * Stores {@link Booking#getStatus()} as a SMALLINT code instead of a VARCHAR, which keeps the
+ * (room_id, start_time, end_time, status) index narrow. Codes are positions in {@link #STATUSES}:
+ * append new statuses, never reorder.
+ * <p>
+ * JPQL compares a converted attribute with bind parameters, not string literals, so booking queries
+ * pass statuses as parameters.
+ */
+@Converter
+public class BookingStatusConverter implements AttributeConverter<String, Short> {
+
+    static final List<String> STATUSES = List.of(
+            "NEW", "PENDING", "PENDING_APPROVAL", "APPROVED", "REJECTED", "CANCELLED", "CONFIRMED", "COMPLETED");
+
+    @Override
+    public Short convertToDatabaseColumn(String status) {
+        if (status == null) return null;
+        int code = STATUSES.indexOf(status);
+        if (code < 0) throw new IllegalArgumentException("Unknown booking status: " + status);
+        return (short) code;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return code == null ? null : STATUSES.get(code);
+    }
+
+    public static boolean isKnown(String status) {
+        return STATUSES.contains(status);
+    }
+}
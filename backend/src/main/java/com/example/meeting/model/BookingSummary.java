@@ -0,0 +1,59 @@
+package com.example.meeting.model;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Read model of a booking for list endpoints. Same JSON shape as the {@link Booking} entity, but a plain
+ * object: serializing it never touches the persistence context. The facilities of a whole list are loaded
+ * in one query by {@code BookingRepository.toSummaries}.
+ */
+public class BookingSummary {
+
+    private final Long id;
+    private final Long roomId;
+    private final Long userId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final String status;
+    private final String purpose;
+    private final Integer attendeesCount;
+    private final Set<String> requiredFacilities;
+    private final Integer priority;
+    private final String notes;
+    private final Double decisionConfidence;
+    private final String decisionRationale;
+    private final Long changeSeq;
+
+    public BookingSummary(Booking b, Set<String> requiredFacilities) {
+        this.id = b.getId();
+        this.roomId = b.getRoomId();
+        this.userId = b.getUserId();
+        this.startTime = b.getStartTime();
+        this.endTime = b.getEndTime();
+        this.status = b.getStatus();
+        this.purpose = b.getPurpose();
+        this.attendeesCount = b.getAttendeesCount();
+        this.requiredFacilities = requiredFacilities;
+        this.priority = b.getPriority();
+        this.notes = b.getNotes();
+        this.decisionConfidence = b.getDecisionConfidence();
+        this.decisionRationale = b.getDecisionRationale();
+        this.changeSeq = b.getChangeSeq();
+    }
+
+    public Long getId() { return id; }
+    public Long getRoomId() { return roomId; }
+    public Long getUserId() { return userId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public String getStatus() { return status; }
+    public String getPurpose() { return purpose; }
+    public Integer getAttendeesCount() { return attendeesCount; }
+    public Set<String> getRequiredFacilities() { return requiredFacilities; }
+    public Integer getPriority() { return priority; }
+    public String getNotes() { return notes; }
+    public Double getDecisionConfidence() { return decisionConfidence; }
+    public String getDecisionRationale() { return decisionRationale; }
+    public Long getChangeSeq() { return changeSeq; }
+}
@@ -0,0 +1,45 @@
+package com.example.meeting.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted booking so delta-syncing clients learn to drop it. Shares the change
+ * sequence of {@link Booking#getChangeSeq()}; the id is the id of the deleted booking.
+ */
+@Entity
+@Table(name = "booking_tombstone", indexes = {
+        @Index(name = "idx_booking_tombstone_seq", columnList = "changeSeq"),
+        @Index(name = "idx_booking_tombstone_user_seq", columnList = "userId, changeSeq")
+})
+public class BookingTombstone {
+
+    @Id
+    private Long bookingId;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    private LocalDateTime deletedAt;
+
+    public BookingTombstone() {
+    }
+
+    public BookingTombstone(Long bookingId, Long userId, Long changeSeq, LocalDateTime deletedAt) {
+        this.bookingId = bookingId;
+        this.userId = userId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
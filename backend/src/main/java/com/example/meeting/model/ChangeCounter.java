@@ -0,0 +1,32 @@
+package com.example.meeting.model;
+
+import javax.persistence.*;
+
+/**
+ * Named monotonically increasing counter. Incrementing it row-locks the counter until commit, so
+ * values become visible in the order they were handed out.
+ */
+@Entity
+@Table(name = "change_counter")
+public class ChangeCounter {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    public ChangeCounter() {
+    }
+
+    public ChangeCounter(String name, long value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public long getValue() { return value; }
+    public void setValue(long value) { this.value = value; }
+}
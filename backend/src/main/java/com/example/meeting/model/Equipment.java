@@ -5,6 +5,8 @@ import javax.persistence.*;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
 public class Equipment {
     
     @Id
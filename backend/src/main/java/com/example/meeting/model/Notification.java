@@ -4,10 +4,17 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // dispatcher claim query (status = PENDING, scheduled_at <= now)
+        @Index(name = "idx_notification_status_scheduled", columnList = "status, scheduledAt"),
+        // inbox keyset pages (user_id, scheduled_at desc, id desc)
+        @Index(name = "idx_notification_user_scheduled", columnList = "userId, scheduledAt, id")
+})
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
 
     private Long userId;
@@ -28,6 +35,20 @@ public class Notification {
     @Enumerated(EnumType.STRING)
     private NotificationStatus status = NotificationStatus.PENDING;
 
+    private String claimedBy; // node id holding the dispatch lease
+
+    private LocalDateTime claimedAt;
+
+    private int attempts; // failed delivery attempts so far
+
+    private LocalDateTime nextAttemptAt; // earliest retry after a failed attempt (null: due at scheduledAt)
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(unique = true)
+    private String dedupeKey; // set for rows that must exist at most once (e.g. virtual reminder receipts)
+
     // getters/setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -47,4 +68,16 @@ public class Notification {
     public void setPayload(String payload) { this.payload = payload; }
     public NotificationStatus getStatus() { return status; }
     public void setStatus(NotificationStatus status) { this.status = status; }
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public String getDedupeKey() { return dedupeKey; }
+    public void setDedupeKey(String dedupeKey) { this.dedupeKey = dedupeKey; }
 }
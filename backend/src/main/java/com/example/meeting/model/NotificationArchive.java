@@ -0,0 +1,73 @@
+package com.example.meeting.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a delivered / finished notification, moved out of the hot {@code notification} table
+ * by the archival job. Keeps the original id.
+ */
+@Entity
+@Table(name = "notification_archive", indexes = {
+        @Index(name = "idx_notification_archive_user", columnList = "userId, scheduledAt")
+})
+public class NotificationArchive {
+
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    private Long bookingId;
+
+    private String type;
+
+    private String method;
+
+    private LocalDateTime scheduledAt;
+
+    private LocalDateTime sentAt;
+
+    @Lob
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationStatus status;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private String dedupeKey;
+
+    private LocalDateTime archivedAt;
+
+    // getters/setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getMethod() { return method; }
+    public void setMethod(String method) { this.method = method; }
+    public LocalDateTime getScheduledAt() { return scheduledAt; }
+    public void setScheduledAt(LocalDateTime scheduledAt) { this.scheduledAt = scheduledAt; }
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public NotificationStatus getStatus() { return status; }
+    public void setStatus(NotificationStatus status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public String getDedupeKey() { return dedupeKey; }
+    public void setDedupeKey(String dedupeKey) { this.dedupeKey = dedupeKey; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -2,7 +2,10 @@ package com.example.meeting.model;
 
 public enum NotificationStatus {
     PENDING,
+    CLAIMED,
     SENT,
     FAILED,
+    DEAD, // retries exhausted; re-driven manually from the admin API
+    CANCELLED, // booking cancelled, rejected, deleted or moved before delivery
     READ
 }
@@ -4,6 +4,9 @@ import javax.persistence.*;
 import java.util.Set;
 
 @Entity
+// read-mostly: kept in the second-level cache, together with its equipment set
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
 public class Room {
     
     @Id
@@ -21,6 +24,8 @@ public class Room {
     @Column(length = 50)
     private String status = "available";
     
+    @org.hibernate.annotations.BatchSize(size = 100)
+    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany
     @JoinTable(
         name = "room_equipment",
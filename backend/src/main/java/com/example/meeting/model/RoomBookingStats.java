@@ -0,0 +1,31 @@
+package com.example.meeting.model;
+
+/**
+ * Booking figures of one room for the admin overview, aggregated in the database over hot and archived
+ * bookings.
+ */
+public class RoomBookingStats {
+
+    private final Long roomId;
+    private final long bookings;
+    private final long attendees;
+    private final long recentMinutes;
+
+    public RoomBookingStats(Long roomId, long bookings, long attendees, long recentMinutes) {
+        this.roomId = roomId;
+        this.bookings = bookings;
+        this.attendees = attendees;
+        this.recentMinutes = recentMinutes;
+    }
+
+    public Long getRoomId() { return roomId; }
+    public long getBookings() { return bookings; }
+    // sum of attendees, a booking without a count adding 0
+    public long getAttendees() { return attendees; }
+    // booked minutes of the bookings ending at or after the "since" the stats were asked for
+    public long getRecentMinutes() { return recentMinutes; }
+
+    public double getAvgAttendees() {
+        return bookings == 0 ? 0.0 : (double) attendees / bookings;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.meeting.model;
+
+import java.util.Set;
+
+/**
+ * Read model of a room for list endpoints, with its equipment already loaded (same JSON shape as the
+ * {@link Room} entity).
+ */
+public class RoomSummary {
+
+    private final Long id;
+    private final String name;
+    private final int capacity;
+    private final String location;
+    private final String status;
+    private final Set<Equipment> equipment;
+
+    public RoomSummary(Room r) {
+        this.id = r.getId();
+        this.name = r.getName();
+        this.capacity = r.getCapacity();
+        this.location = r.getLocation();
+        this.status = r.getStatus();
+        this.equipment = r.getEquipment() == null ? Set.of() : Set.copyOf(r.getEquipment());
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public int getCapacity() { return capacity; }
+    public String getLocation() { return location; }
+    public String getStatus() { return status; }
+    public Set<Equipment> getEquipment() { return equipment; }
+}
@@ -4,6 +4,9 @@ import javax.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(com.example.meeting.security.UserAccountListener.class)
+@Cacheable
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
 public class UserAccount {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,7 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.BookingArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+}
@@ -0,0 +1,10 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.BookingHistoryArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BookingHistoryArchiveRepository extends JpaRepository<BookingHistoryArchive, Long> {
+    List<BookingHistoryArchive> findByBookingIdOrderByChangedAtDesc(Long bookingId);
+}
@@ -10,4 +10,5 @@ import java.util.List;
 public interface BookingHistoryRepository extends JpaRepository<BookingHistory, Long> {
     List<BookingHistory> findByBookingId(Long bookingId);
     List<BookingHistory> findByBookingIdOrderByChangedAtDesc(Long bookingId);
+    boolean existsByBookingIdAndPreviousStatus(Long bookingId, String previousStatus);
 }
\ No newline at end of file
@@ -1,15 +1,26 @@
 package com.example.meeting.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingSummary;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+
     List<Booking> findByStatus(String status);
     List<Booking> findByRoomId(Long roomId);
     List<Booking> findByRoomIdAndStartTimeLessThanAndEndTimeGreaterThan(Long roomId, LocalDateTime endTime, LocalDateTime startTime);
@@ -17,14 +28,92 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByRoomIdAndStatus(Long roomId, String status);
     List<Booking> findByPriorityGreaterThanEqual(Integer priority);
     List<Booking> findByUserId(Long userId);
-    
+    // statuses that no longer hold their slot
+    List<String> INACTIVE_STATUSES = List.of("CANCELLED", "REJECTED");
+
+    // start in (after, upTo], status not in the given ones
+    List<Booking> findByStatusNotInAndStartTimeGreaterThanAndStartTimeLessThanEqual(Collection<String> statuses,
+                                                                                    LocalDateTime after, LocalDateTime upTo);
+
+    /**
+     * Bookings of a room overlapping [start, end). Intervals are half-open, so back-to-back meetings
+     * (one ends at 10:00, the next starts at 10:00) do not conflict.
+     */
+    default List<Booking> findOverlappingBookings(Long roomId, LocalDateTime start, LocalDateTime end) {
+        return findOverlapping(roomId, start.minus(Booking.MAX_DURATION), start, end, INACTIVE_STATUSES);
+    }
+
+    // startTime is bounded on both sides (no booking is longer than Booking.MAX_DURATION), so
+    // idx_bookings_room_time_status is scanned over a short range instead of the room's whole history
     @Query("SELECT b FROM Booking b WHERE b.roomId = :roomId " +
-           "AND b.status != 'CANCELLED' " +
-           "AND ((b.startTime BETWEEN :start AND :end) " +
-           "OR (b.endTime BETWEEN :start AND :end) " +
-           "OR (b.startTime <= :start AND b.endTime >= :end))")
-    List<Booking> findOverlappingBookings(Long roomId, LocalDateTime start, LocalDateTime end);
-
-    @Query("SELECT b FROM Booking b WHERE (b.status = 'PENDING' OR b.status = 'PENDING_APPROVAL')")
-    List<Booking> findPendingBookings();
-}
\ No newline at end of file
+           "AND b.startTime >= :earliestStart AND b.startTime < :end AND b.endTime > :start " +
+           "AND b.status NOT IN :inactive")
+    List<Booking> findOverlapping(@Param("roomId") Long roomId, @Param("earliestStart") LocalDateTime earliestStart,
+                                  @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                  @Param("inactive") Collection<String> inactive);
+
+    default List<Booking> findPendingBookings() {
+        return findByStatusIn(List.of("PENDING", "PENDING_APPROVAL"));
+    }
+
+    List<Booking> findByStatusIn(Collection<String> statuses);
+
+    /**
+     * Rooms with at least one booking overlapping [start, end), same rule as {@link #findOverlappingBookings}.
+     */
+    default List<Long> findBusyRoomIds(LocalDateTime start, LocalDateTime end) {
+        return findBusyRoomIds(start.minus(Booking.MAX_DURATION), start, end, INACTIVE_STATUSES);
+    }
+
+    @Query("SELECT DISTINCT b.roomId FROM Booking b " +
+           "WHERE b.startTime >= :earliestStart AND b.startTime < :end AND b.endTime > :start " +
+           "AND b.status NOT IN :inactive")
+    List<Long> findBusyRoomIds(@Param("earliestStart") LocalDateTime earliestStart,
+                               @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                               @Param("inactive") Collection<String> inactive);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.changeSeq = :seq WHERE b.id = :id")
+    int stampChange(@Param("id") Long id, @Param("seq") long seq);
+
+    // bookings written without going through the event bus (seed data, rows from before delta sync)
+    @Query("SELECT MAX(b.id) FROM Booking b WHERE b.changeSeq IS NULL")
+    Long maxIdWithoutChangeSeq();
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.changeSeq = :base + b.id WHERE b.changeSeq IS NULL AND b.id <= :maxId")
+    int backfillChangeSeq(@Param("base") long base, @Param("maxId") long maxId);
+
+    @Query("SELECT MAX(b.changeSeq) FROM Booking b")
+    Long maxChangeSeq();
+
+    // changes of every owner and of one owner, each on its own index: (changeSeq) and (userId, changeSeq)
+    @Query("SELECT b FROM Booking b WHERE b.changeSeq > :since AND b.changeSeq <= :upTo ORDER BY b.changeSeq")
+    List<Booking> findChanges(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.userId = :userId AND b.changeSeq > :since AND b.changeSeq <= :upTo " +
+           "ORDER BY b.changeSeq")
+    List<Booking> findUserChanges(@Param("userId") Long userId, @Param("since") long since,
+                                  @Param("upTo") long upTo, Pageable pageable);
+
+    // (bookingId, facility) pairs, to fill the facilities of many bookings in one query
+    @Query("SELECT b.id, f FROM Booking b JOIN b.requiredFacilities f WHERE b.id IN :ids")
+    List<Object[]> findFacilities(@Param("ids") Collection<Long> ids);
+
+    /**
+     * List read model of the given bookings, in the same order, with all their facilities loaded by
+     * one query per 1000 bookings instead of one per booking.
+     */
+    default List<BookingSummary> toSummaries(List<Booking> bookings) {
+        Map<Long, Set<String>> facilities = new HashMap<>();
+        List<Long> ids = bookings.stream().map(Booking::getId).toList();
+        for (int from = 0; from < ids.size(); from += 1000) {
+            for (Object[] row : findFacilities(ids.subList(from, Math.min(ids.size(), from + 1000)))) {
+                facilities.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
+        }
+        List<BookingSummary> out = new ArrayList<>(bookings.size());
+        for (Booking b : bookings) out.add(new BookingSummary(b, facilities.getOrDefault(b.getId(), Set.of())));
+        return out;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.RoomBookingStats;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * One page of bookings ordered by (startTime, id), continuing after the (afterStart, afterId)
+     * cursor of the previous page. Pass a null cursor for the first page. Null filters are left out
+     * of the query.
+     */
+    List<Booking> findPage(Long roomId, Long userId, String status, LocalDateTime from, LocalDateTime to,
+                           LocalDateTime afterStart, Long afterId, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findPage} without paging, read through a server-side cursor. Must be consumed
+     * inside a transaction and closed.
+     */
+    Stream<Booking> streamFiltered(Long roomId, Long userId, String status, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Moves up to {@code limit} bookings that ended before {@code endedBefore}, with their facilities and
+     * history rows, into the archive tables. Joins the caller's transaction, if any. Returns the owner
+     * (user id, possibly null) of each booking moved, by booking id.
+     */
+    Map<Long, Long> archiveChunk(LocalDateTime endedBefore, int limit);
+
+    /**
+     * Per-room booking counts, attendee sums and booked minutes (of bookings ending at or after
+     * {@code minutesSince}) over hot and archived bookings, grouped in the database.
+     */
+    List<RoomBookingStats> roomStatsIncludingArchived(LocalDateTime minutesSince);
+}
@@ -0,0 +1,134 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.RoomBookingStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final String BOOKING_COLUMNS =
+            "id, room_id, user_id, start_time, end_time, status, purpose, attendees_count, priority, notes, " +
+            "decision_confidence, decision_rationale, change_seq";
+
+    private static final String HISTORY_COLUMNS =
+            "id, booking_id, previous_status, new_status, changed_at, changed_by, reason, ai_confidence, ai_rationale";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    BookingRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> findPage(Long roomId, Long userId, String status, LocalDateTime from, LocalDateTime to,
+                                  LocalDateTime afterStart, Long afterId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> q = cb.createQuery(Booking.class);
+        Root<Booking> b = q.from(Booking.class);
+        List<Predicate> where = filters(cb, b, roomId, userId, status, from, to);
+        if (afterStart != null) {
+            // (startTime, id) > (afterStart, afterId), spelled out so the leading >= bounds the index range
+            Path<LocalDateTime> start = b.get("startTime");
+            where.add(cb.greaterThanOrEqualTo(start, afterStart));
+            where.add(afterId == null ? cb.greaterThan(start, afterStart)
+                    : cb.or(cb.greaterThan(start, afterStart), cb.greaterThan(b.get("id"), afterId)));
+        }
+        q.where(where.toArray(new Predicate[0])).orderBy(cb.asc(b.get("startTime")), cb.asc(b.get("id")));
+        return entityManager.createQuery(q)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<Booking> streamFiltered(Long roomId, Long userId, String status, LocalDateTime from, LocalDateTime to) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> q = cb.createQuery(Booking.class);
+        Root<Booking> b = q.from(Booking.class);
+        q.where(filters(cb, b, roomId, userId, status, from, to).toArray(new Predicate[0]))
+                .orderBy(cb.asc(b.get("startTime")), cb.asc(b.get("id")));
+        TypedQuery<Booking> query = entityManager.createQuery(q);
+        query.setHint(org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, 500);
+        query.setHint(org.hibernate.jpa.QueryHints.HINT_READONLY, true);
+        return query.getResultStream();
+    }
+
+    // only the filters that were given, so the planner sees plain conditions instead of "? IS NULL OR ..."
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Booking> b, Long roomId, Long userId,
+                                           String status, LocalDateTime from, LocalDateTime to) {
+        List<Predicate> where = new ArrayList<>();
+        if (roomId != null) where.add(cb.equal(b.get("roomId"), roomId));
+        if (userId != null) where.add(cb.equal(b.get("userId"), userId));
+        if (status != null) where.add(cb.equal(b.get("status"), status));
+        if (from != null) where.add(cb.greaterThanOrEqualTo(b.get("startTime"), from));
+        if (to != null) where.add(cb.lessThan(b.get("startTime"), to));
+        return where;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Long> archiveChunk(LocalDateTime endedBefore, int limit) {
+        Map<Long, Long> owners = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, user_id FROM bookings WHERE end_time < ? ORDER BY end_time LIMIT ?",
+                rs -> { owners.put(rs.getLong(1), rs.getObject(2, Long.class)); },
+                Timestamp.valueOf(endedBefore), limit);
+        if (owners.isEmpty()) return owners;
+        List<Long> ids = new ArrayList<>(owners.keySet());
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] idArgs = ids.toArray();
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(ids);
+
+        jdbcTemplate.update("INSERT INTO bookings_archive (" + BOOKING_COLUMNS + ", archived_at) " +
+                "SELECT " + BOOKING_COLUMNS + ", ? FROM bookings WHERE id IN (" + in + ")", args.toArray());
+        jdbcTemplate.update("INSERT INTO bookings_archive_required_facilities (booking_id, facility) " +
+                "SELECT booking_id, facility FROM booking_required_facilities WHERE booking_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("INSERT INTO booking_history_archive (" + HISTORY_COLUMNS + ", archived_at) " +
+                "SELECT " + HISTORY_COLUMNS + ", ? FROM booking_history WHERE booking_id IN (" + in + ")", args.toArray());
+
+        // children first: both reference bookings
+        jdbcTemplate.update("DELETE FROM booking_history WHERE booking_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM booking_required_facilities WHERE booking_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM bookings WHERE id IN (" + in + ")", idArgs);
+        return owners;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RoomBookingStats> roomStatsIncludingArchived(LocalDateTime minutesSince) {
+        return jdbcTemplate.query(
+                "SELECT room_id, COUNT(*), COALESCE(SUM(COALESCE(attendees_count, 0)), 0), " +
+                "COALESCE(SUM(CASE WHEN end_time >= ? " +
+                "THEN GREATEST(DATEDIFF('SECOND', start_time, end_time), 0) / 60 ELSE 0 END), 0) " +
+                "FROM (SELECT room_id, attendees_count, start_time, end_time FROM bookings " +
+                "UNION ALL SELECT room_id, attendees_count, start_time, end_time FROM bookings_archive) b " +
+                "WHERE room_id IS NOT NULL GROUP BY room_id",
+                (rs, i) -> new RoomBookingStats(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)),
+                Timestamp.valueOf(minutesSince));
+    }
+}
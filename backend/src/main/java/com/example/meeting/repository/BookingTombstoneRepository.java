@@ -0,0 +1,26 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.BookingTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingTombstoneRepository extends JpaRepository<BookingTombstone, Long> {
+
+    // same split as BookingRepository#findChanges / #findUserChanges
+    @Query("SELECT t FROM BookingTombstone t WHERE t.changeSeq > :since AND t.changeSeq <= :upTo ORDER BY t.changeSeq")
+    List<BookingTombstone> findChanges(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT t FROM BookingTombstone t WHERE t.userId = :userId AND t.changeSeq > :since AND t.changeSeq <= :upTo " +
+           "ORDER BY t.changeSeq")
+    List<BookingTombstone> findUserChanges(@Param("userId") Long userId, @Param("since") long since,
+                                           @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT MAX(t.changeSeq) FROM BookingTombstone t")
+    Long maxChangeSeq();
+}
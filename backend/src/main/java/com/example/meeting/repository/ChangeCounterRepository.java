@@ -0,0 +1,19 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.ChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeCounterRepository extends JpaRepository<ChangeCounter, String> {
+
+    @Modifying
+    @Query("UPDATE ChangeCounter c SET c.value = c.value + :delta WHERE c.name = :name")
+    int advance(@Param("name") String name, @Param("delta") long delta);
+
+    @Query("SELECT c.value FROM ChangeCounter c WHERE c.name = :name")
+    Long current(@Param("name") String name);
+}
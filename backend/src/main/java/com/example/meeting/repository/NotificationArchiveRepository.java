@@ -0,0 +1,45 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.NotificationArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, Long> {
+    List<NotificationArchive> findByUserIdOrderByScheduledAtDesc(Long userId);
+
+    /**
+     * Same keyset paging as {@link NotificationRepository#findInboxPage}.
+     */
+    default List<NotificationArchive> findInboxPage(Long userId, LocalDateTime beforeAt, Long beforeId, Pageable pageable) {
+        if (beforeAt == null) {
+            return userId == null ? findInboxFirstPage(pageable) : findInboxFirstPage(userId, pageable);
+        }
+        long id = beforeId == null ? Long.MIN_VALUE : beforeId;
+        return userId == null ? findInboxPageBefore(beforeAt, id, pageable)
+                : findInboxPageBefore(userId, beforeAt, id, pageable);
+    }
+
+    @Query("SELECT n FROM NotificationArchive n WHERE n.userId = :userId ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<NotificationArchive> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    // (scheduledAt, id) < (beforeAt, beforeId), spelled out so the leading <= bounds the index range
+    @Query("SELECT n FROM NotificationArchive n WHERE n.userId = :userId " +
+            "AND n.scheduledAt <= :beforeAt AND (n.scheduledAt < :beforeAt OR n.id < :beforeId) " +
+            "ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<NotificationArchive> findInboxPageBefore(@Param("userId") Long userId, @Param("beforeAt") LocalDateTime beforeAt,
+                                                  @Param("beforeId") long beforeId, Pageable pageable);
+
+    @Query("SELECT n FROM NotificationArchive n ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<NotificationArchive> findInboxFirstPage(Pageable pageable);
+
+    @Query("SELECT n FROM NotificationArchive n " +
+            "WHERE n.scheduledAt <= :beforeAt AND (n.scheduledAt < :beforeAt OR n.id < :beforeId) " +
+            "ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<NotificationArchive> findInboxPageBefore(@Param("beforeAt") LocalDateTime beforeAt, @Param("beforeId") long beforeId,
+                                                  Pageable pageable);
+}
@@ -2,12 +2,153 @@ package com.example.meeting.repository;
 
 import com.example.meeting.model.Notification;
 import com.example.meeting.model.NotificationStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
     List<Notification> findByStatusAndScheduledAtBefore(NotificationStatus status, LocalDateTime before);
     List<Notification> findByUserIdOrderByScheduledAtDesc(Long userId);
+
+    /**
+     * Atomically claims up to {@code limit} due rows (oldest first) for one node. A row that failed
+     * before is due at its {@code next_attempt_at} rather than its scheduled time.
+     * Rows still CLAIMED after their lease expired (node crashed mid-dispatch) are claimable again.
+     * The outer status predicate is re-checked under the row lock so concurrent claimers never
+     * take the same row twice. Returns the number of rows claimed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification SET status = 'CLAIMED', claimed_by = :nodeId, claimed_at = :claimedAt " +
+            "WHERE id IN (SELECT id FROM notification " +
+            "    WHERE (status = 'PENDING' AND scheduled_at <= :dueBefore " +
+            "           AND (next_attempt_at IS NULL OR next_attempt_at <= :dueBefore)) " +
+            "       OR (status = 'CLAIMED' AND claimed_at < :leaseExpiredBefore) " +
+            "    ORDER BY COALESCE(next_attempt_at, scheduled_at) LIMIT :limit) " +
+            "AND (status = 'PENDING' OR (status = 'CLAIMED' AND claimed_at < :leaseExpiredBefore))",
+            nativeQuery = true)
+    int claimDue(@Param("nodeId") String nodeId,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("dueBefore") LocalDateTime dueBefore,
+                 @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore,
+                 @Param("limit") int limit);
+
+    /**
+     * Pulls forward, into an existing claim, the pending rows of one user and channel that fall due
+     * before {@code horizon}, so the dispatcher can send them as a single digest. Rows waiting for a
+     * retry keep their backoff.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification SET status = 'CLAIMED', claimed_by = :nodeId, claimed_at = :claimedAt " +
+            "WHERE status = 'PENDING' AND user_id = :userId AND method = :method AND type <> 'FACILITIES' " +
+            "AND scheduled_at <= :horizon AND next_attempt_at IS NULL",
+            nativeQuery = true)
+    int claimUserCompanions(@Param("nodeId") String nodeId,
+                            @Param("claimedAt") LocalDateTime claimedAt,
+                            @Param("userId") Long userId,
+                            @Param("method") String method,
+                            @Param("horizon") LocalDateTime horizon);
+
+    /**
+     * Same as {@link #claimUserCompanions} for facilities requests, which are grouped per mailbox.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification SET status = 'CLAIMED', claimed_by = :nodeId, claimed_at = :claimedAt " +
+            "WHERE status = 'PENDING' AND type = 'FACILITIES' AND scheduled_at <= :horizon AND next_attempt_at IS NULL",
+            nativeQuery = true)
+    int claimFacilitiesCompanions(@Param("nodeId") String nodeId,
+                                  @Param("claimedAt") LocalDateTime claimedAt,
+                                  @Param("horizon") LocalDateTime horizon);
+
+    /**
+     * Cancels the pending notifications of a booking. The dedupe key is released so a reinstated
+     * booking can be reminded again.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = com.example.meeting.model.NotificationStatus.CANCELLED, n.dedupeKey = NULL " +
+            "WHERE n.bookingId = :bookingId AND n.status = com.example.meeting.model.NotificationStatus.PENDING")
+    int cancelPendingForBooking(@Param("bookingId") Long bookingId);
+
+    /**
+     * One inbox page, newest first, continuing after the (beforeAt, beforeId) cursor of the previous
+     * page. Pass a null cursor for the first page and a null userId for all users. Each case has its
+     * own statement, so none carries ":p IS NULL OR" conditions the planner cannot use an index for.
+     */
+    default List<Notification> findInboxPage(Long userId, LocalDateTime beforeAt, Long beforeId, Pageable pageable) {
+        if (beforeAt == null) {
+            return userId == null ? findInboxFirstPage(pageable) : findInboxFirstPage(userId, pageable);
+        }
+        long id = beforeId == null ? Long.MIN_VALUE : beforeId;
+        return userId == null ? findInboxPageBefore(beforeAt, id, pageable)
+                : findInboxPageBefore(userId, beforeAt, id, pageable);
+    }
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    // (scheduledAt, id) < (beforeAt, beforeId), spelled out so the leading <= bounds the index range
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+            "AND n.scheduledAt <= :beforeAt AND (n.scheduledAt < :beforeAt OR n.id < :beforeId) " +
+            "ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<Notification> findInboxPageBefore(@Param("userId") Long userId, @Param("beforeAt") LocalDateTime beforeAt,
+                                           @Param("beforeId") long beforeId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(Pageable pageable);
+
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.scheduledAt <= :beforeAt AND (n.scheduledAt < :beforeAt OR n.id < :beforeId) " +
+            "ORDER BY n.scheduledAt DESC, n.id DESC")
+    List<Notification> findInboxPageBefore(@Param("beforeAt") LocalDateTime beforeAt, @Param("beforeId") long beforeId,
+                                           Pageable pageable);
+
+    long countByUserIdAndStatus(Long userId, NotificationStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = com.example.meeting.model.NotificationStatus.READ " +
+            "WHERE n.userId = :userId AND n.status = com.example.meeting.model.NotificationStatus.SENT")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = com.example.meeting.model.NotificationStatus.READ " +
+            "WHERE n.userId = :userId AND n.id IN :ids AND n.status = com.example.meeting.model.NotificationStatus.SENT")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    Page<Notification> findByStatusOrderByScheduledAtDesc(NotificationStatus status, Pageable pageable);
+
+    /**
+     * Puts DEAD rows (all of them, or those of one type) back in the queue with a fresh attempt budget.
+     * Returns the number of rows re-driven. Two statements, so neither carries a ":type IS NULL OR" condition.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = com.example.meeting.model.NotificationStatus.PENDING, " +
+            "n.attempts = 0, n.nextAttemptAt = NULL, n.lastError = NULL, n.claimedBy = NULL, n.claimedAt = NULL " +
+            "WHERE n.status = com.example.meeting.model.NotificationStatus.DEAD")
+    int redriveAllDead();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = com.example.meeting.model.NotificationStatus.PENDING, " +
+            "n.attempts = 0, n.nextAttemptAt = NULL, n.lastError = NULL, n.claimedBy = NULL, n.claimedAt = NULL " +
+            "WHERE n.status = com.example.meeting.model.NotificationStatus.DEAD AND n.type = :type")
+    int redriveDeadOfType(@Param("type") String type);
+
+    @Query("SELECT n.dedupeKey FROM Notification n WHERE n.dedupeKey IN :keys")
+    List<String> findExistingDedupeKeys(@Param("keys") Collection<String> keys);
+
+    List<Notification> findByStatusAndClaimedByAndClaimedAtOrderByScheduledAtAsc(NotificationStatus status, String claimedBy, LocalDateTime claimedAt);
 }
@@ -0,0 +1,21 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.Notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Writes the dispatch outcome (status, sentAt, payload, retry state) of a claimed page in one JDBC batch.
+     * Rows whose claim was meanwhile taken over by another node are left untouched.
+     */
+    int[] completeClaimed(List<Notification> notifications, String nodeId);
+
+    /**
+     * Moves up to {@code limit} finished notifications scheduled before {@code olderThan} into
+     * {@code notification_archive} in one transaction. Returns the number of rows moved.
+     */
+    int archiveChunk(LocalDateTime olderThan, int limit);
+}
@@ -0,0 +1,64 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.Notification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private static final String COMPLETE_SQL =
+            "UPDATE notification SET status = ?, sent_at = ?, payload = ?, attempts = ?, next_attempt_at = ?, last_error = ? " +
+            "WHERE id = ? AND claimed_by = ? AND status = 'CLAIMED'";
+
+    // finished rows only: PENDING / CLAIMED are live and DEAD rows wait for a re-drive
+    private static final String ARCHIVABLE =
+            "status IN ('SENT', 'READ', 'FAILED', 'CANCELLED') AND scheduled_at < ?";
+
+    private static final String ARCHIVE_COLUMNS =
+            "id, user_id, booking_id, type, method, scheduled_at, sent_at, payload, status, attempts, last_error, dedupe_key";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    NotificationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] completeClaimed(List<Notification> notifications, String nodeId) {
+        if (notifications.isEmpty()) return new int[0];
+        int[][] counts = jdbcTemplate.batchUpdate(COMPLETE_SQL, notifications, notifications.size(), (ps, n) -> {
+            ps.setString(1, n.getStatus().name());
+            ps.setTimestamp(2, n.getSentAt() == null ? null : Timestamp.valueOf(n.getSentAt()));
+            ps.setString(3, n.getPayload());
+            ps.setInt(4, n.getAttempts());
+            ps.setTimestamp(5, n.getNextAttemptAt() == null ? null : Timestamp.valueOf(n.getNextAttemptAt()));
+            ps.setString(6, n.getLastError());
+            ps.setLong(7, n.getId());
+            ps.setString(8, nodeId);
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+    }
+
+    @Override
+    @Transactional
+    public int archiveChunk(LocalDateTime olderThan, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM notification WHERE " + ARCHIVABLE + " ORDER BY scheduled_at LIMIT ?",
+                Long.class, Timestamp.valueOf(olderThan), limit);
+        if (ids.isEmpty()) return 0;
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(ids);
+        jdbcTemplate.update("INSERT INTO notification_archive (" + ARCHIVE_COLUMNS + ", archived_at) " +
+                "SELECT " + ARCHIVE_COLUMNS + ", ? FROM notification WHERE id IN (" + in + ")", args.toArray());
+        return jdbcTemplate.update("DELETE FROM notification WHERE id IN (" + in + ")", ids.toArray());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.meeting.repository;
+
+import com.example.meeting.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Claims up to {@code limit} pending events (in insertion order) for one relay node, the same way
+     * {@link NotificationRepository#claimDue} claims notifications. Returns the number claimed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE outbox_event SET status = 'CLAIMED', claimed_by = :nodeId, claimed_at = :claimedAt " +
+            "WHERE id IN (SELECT id FROM outbox_event " +
+            "    WHERE (status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :claimedAt)) " +
+            "       OR (status = 'CLAIMED' AND claimed_at < :leaseExpiredBefore) " +
+            "    ORDER BY id LIMIT :limit) " +
+            "AND (status = 'PENDING' OR (status = 'CLAIMED' AND claimed_at < :leaseExpiredBefore))",
+            nativeQuery = true)
+    int claim(@Param("nodeId") String nodeId,
+              @Param("claimedAt") LocalDateTime claimedAt,
+              @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore,
+              @Param("limit") int limit);
+
+    List<OutboxEvent> findByStatusAndClaimedByAndClaimedAtOrderByIdAsc(String status, String claimedBy, LocalDateTime claimedAt);
+
+    /**
+     * Removes a handled event, provided this node still holds its claim.
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id = :id AND e.claimedBy = :nodeId AND e.status = 'CLAIMED'")
+    int deleteClaimed(@Param("id") Long id, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :lastError WHERE e.id = :id AND e.claimedBy = :nodeId AND e.status = 'CLAIMED'")
+    int releaseClaimed(@Param("id") Long id,
+                       @Param("nodeId") String nodeId,
+                       @Param("status") String status,
+                       @Param("attempts") int attempts,
+                       @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                       @Param("lastError") String lastError);
+
+    long countByStatus(String status);
+}
@@ -3,8 +3,10 @@ package com.example.meeting.repository;
 import com.example.meeting.model.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
@@ -16,4 +18,9 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
            "(:capacity IS NULL OR r.capacity >= :capacity) AND " +
            "(:status IS NULL OR r.status = :status)")
     List<Room> findRoomsMatchingCriteria(Integer capacity, String status);
+
+    // rooms with their equipment in one query, for list endpoints; cached until a room or equipment changes
+    @Query("SELECT DISTINCT r FROM Room r LEFT JOIN FETCH r.equipment")
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+    List<Room> findAllWithEquipment();
 }
@@ -2,8 +2,13 @@ package com.example.meeting.repository;
 
 import com.example.meeting.model.UserAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserAccount, Long> {
+    // runs on every authenticated booking request; answered from the query cache until users change
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     Optional<UserAccount> findByUsername(String username);
 }
@@ -0,0 +1,111 @@
+package com.example.meeting.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limit: at most {@code limit} calls in flight; a call over the limit is refused at
+ * once instead of queueing. Each call that finishes within the target latency while the limit was
+ * actually in use raises the limit by one; a slow or failed call cuts it by {@code backoffRatio}.
+ * The limit so tracks what the downstream can take, between {@code minLimit} and {@code maxLimit}.
+ * Gauges {@code concurrency.limit} and {@code concurrency.in.flight} and counts
+ * {@code concurrency.rejected}, tagged with the limiter name.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final Counter rejected;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, long targetLatencyMs,
+                                      double backoffRatio, MeterRegistry meterRegistry) {
+        this(name, initialLimit, minLimit, maxLimit, targetLatencyMs, backoffRatio, meterRegistry, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, long targetLatencyMs,
+                                      double backoffRatio, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        if (meterRegistry != null) {
+            Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("name", name).register(meterRegistry);
+            Gauge.builder("concurrency.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("name", name).register(meterRegistry);
+            this.rejected = Counter.builder("concurrency.rejected").tag("name", name)
+                    .description("Calls refused because the concurrency limit was reached")
+                    .register(meterRegistry);
+        } else {
+            this.rejected = null;
+        }
+    }
+
+    /** A permit to be released when the call ends, or null when the limit is reached. */
+    public synchronized Permit tryAcquire() {
+        if (inFlight >= (int) limit) {
+            if (rejected != null) rejected.increment();
+            return null;
+        }
+        inFlight++;
+        return new Permit(nanoClock.getAsLong(), inFlight);
+    }
+
+    private synchronized void release(Permit permit, boolean ok) {
+        inFlight--;
+        long latency = nanoClock.getAsLong() - permit.startedAt - permit.excludedNanos;
+        if (!ok || latency > targetLatencyNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (permit.inFlightAtStart * 2 >= limit) {
+            // only grow while the limit is what bounds throughput
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized int getLimit() { return (int) limit; }
+    public synchronized int getInFlight() { return inFlight; }
+
+    public final class Permit {
+
+        private final long startedAt;
+        private final int inFlightAtStart;
+        private long excludedNanos;
+        private boolean released;
+
+        private Permit(long startedAt, int inFlightAtStart) {
+            this.startedAt = startedAt;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Leaves {@code nanos} of the call out of its latency: time spent waiting on a dependency that
+         * has a limit of its own and would otherwise shrink this one.
+         */
+        public void exclude(long nanos) {
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                excludedNanos += nanos;
+            }
+        }
+
+        /** Ends the call; {@code ok} false for errors and timeouts. Later calls are ignored. */
+        public void release(boolean ok) {
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                if (released) return;
+                released = true;
+            }
+            AdaptiveConcurrencyLimiter.this.release(this, ok);
+        }
+    }
+}
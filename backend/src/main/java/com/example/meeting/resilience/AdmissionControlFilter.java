@@ -0,0 +1,70 @@
+package com.example.meeting.resilience;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Admission control for the expensive endpoints (booking creation and the LLM-backed ones): requests
+ * beyond the {@link AdaptiveConcurrencyLimiter}'s current limit get 503 with {@code Retry-After: 1}
+ * right away instead of waiting on a Tomcat thread. Latency of admitted requests drives the limit,
+ * minus the time they wait on Gemini: that wait is governed by the LLM limiter and its own target,
+ * so a slow Gemini does not shrink the request limit for work that falls back to rules anyway.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final ThreadLocal<AdaptiveConcurrencyLimiter.Permit> CURRENT = new ThreadLocal<>();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    // "METHOD path-pattern"
+    private final List<String[]> guarded;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, List<String> guarded) {
+        this.limiter = limiter;
+        this.guarded = guarded.stream().map(g -> g.trim().split("\\s+", 2)).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String[] g : guarded) {
+            if (g.length == 2 && g[0].equalsIgnoreCase(request.getMethod()) && matcher.match(g[1], path)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            response.setStatus(503);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Server busy, please retry\"}");
+            return;
+        }
+        boolean ok = false;
+        CURRENT.set(permit);
+        try {
+            chain.doFilter(request, response);
+            ok = response.getStatus() < 500;
+        } finally {
+            CURRENT.remove();
+            permit.release(ok);
+        }
+    }
+
+    /** Leaves {@code nanos} spent by the current request thread out of the request limiter's latency. */
+    public static void excludeFromLatency(long nanos) {
+        AdaptiveConcurrencyLimiter.Permit permit = CURRENT.get();
+        if (permit != null) permit.exclude(nanos);
+    }
+}
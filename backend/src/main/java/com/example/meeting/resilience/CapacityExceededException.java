@@ -0,0 +1,11 @@
+package com.example.meeting.resilience;
+
+/**
+ * Thrown when an {@link AdaptiveConcurrencyLimiter} refuses a call; callers fall back or answer 503.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
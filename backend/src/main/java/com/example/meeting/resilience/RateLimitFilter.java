@@ -0,0 +1,54 @@
+package com.example.meeting.resilience;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Applies {@link RateLimiter} to API requests, after Spring Security so signed-in users are limited by
+ * username (across their sessions and tokens) and anonymous callers by address. Limited requests get
+ * 429 with {@code Retry-After} in seconds.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if ("OPTIONS".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long waitMs = rateLimiter.tryAcquire(client(request), request.getMethod(), path);
+        if (waitMs == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long retryAfter = Math.max(1, (waitMs + 999) / 1000);
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Too many requests\",\"retryAfterSeconds\":" + retryAfter + "}");
+    }
+
+    private static String client(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.meeting.resilience;
+
+import com.example.meeting.config.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost-weighted token buckets per client and rule (see {@link RateLimitProperties}). Buckets live in a
+ * {@link ConcurrentHashMap}, whose per-bin locking keeps clients from contending with each other; each
+ * bucket synchronizes on itself. Idle buckets are evicted by {@code RateLimitScheduler}.
+ * Counts {@code ratelimit.limited} per rule and gauges {@code ratelimit.buckets}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ratelimit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimiter {
+
+    private final List<RateLimitProperties.Rule> rules;
+    private final long idleEvictNanos;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiter(RateLimitProperties properties, Optional<MeterRegistry> meterRegistry) {
+        this.rules = List.copyOf(properties.getRules());
+        this.idleEvictNanos = TimeUnit.SECONDS.toNanos(properties.getIdleEvictSeconds());
+        this.meterRegistry = meterRegistry.orElse(null);
+        meterRegistry.ifPresent(r -> Gauge.builder("ratelimit.buckets", buckets, ConcurrentHashMap::size)
+                .description("Rate-limit buckets currently held in memory")
+                .register(r));
+    }
+
+    /**
+     * Charges a request of {@code client} to the first matching rule. Returns 0 when it may proceed,
+     * otherwise how many milliseconds to wait. Requests no rule matches are not limited.
+     */
+    public long tryAcquire(String client, String method, String path) {
+        RateLimitProperties.Rule rule = match(method, path);
+        if (rule == null) return 0;
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(client + '|' + rule.getName(),
+                k -> new TokenBucket(rule.getCapacity(), rule.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(rule.getCost(), now);
+        if (waitNanos == 0) return 0;
+        if (meterRegistry != null) meterRegistry.counter("ratelimit.limited", "rule", rule.getName()).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    private RateLimitProperties.Rule match(String method, String path) {
+        for (RateLimitProperties.Rule rule : rules) {
+            boolean methodMatches = rule.getMethod() == null || rule.getMethod().isBlank()
+                    || rule.getMethod().equalsIgnoreCase(method);
+            if (methodMatches && matcher.match(rule.getPattern(), path)) return rule;
+        }
+        return null;
+    }
+
+    /** Drops buckets not used for {@code ratelimit.idle-evict-seconds}. */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(b -> now - b.getLastUsedAt() > idleEvictNanos);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
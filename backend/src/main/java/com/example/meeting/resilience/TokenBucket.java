@@ -0,0 +1,43 @@
+package com.example.meeting.resilience;
+
+/**
+ * Token bucket refilled continuously at {@code refillPerSecond} up to {@code capacity}. Starts full.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+    private volatile long lastUsedAt;
+
+    public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+        this.lastUsedAt = nowNanos;
+    }
+
+    /**
+     * Takes {@code cost} tokens if there are enough. Returns 0 when taken, otherwise the nanoseconds
+     * until enough will have been refilled (nothing is taken then).
+     */
+    public synchronized long tryConsume(double cost, long nowNanos) {
+        lastUsedAt = nowNanos;
+        if (nowNanos > refilledAt) {
+            tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * refillPerNano);
+            refilledAt = nowNanos;
+        }
+        // a request dearer than the whole bucket can still pass when it is full
+        double needed = Math.min(cost, capacity);
+        if (tokens >= needed) {
+            tokens -= needed;
+            return 0;
+        }
+        if (refillPerNano <= 0) return Long.MAX_VALUE;
+        return (long) Math.ceil((needed - tokens) / refillPerNano);
+    }
+
+    public long getLastUsedAt() { return lastUsedAt; }
+}
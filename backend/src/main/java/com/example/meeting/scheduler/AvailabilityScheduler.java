@@ -0,0 +1,21 @@
+package com.example.meeting.scheduler;
+
+import com.example.meeting.event.RoomAvailabilityPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AvailabilityScheduler {
+
+    @Autowired
+    private RoomAvailabilityPublisher roomAvailabilityPublisher;
+
+    // The delay is the coalescing window: deltas of a burst go out together
+    @Scheduled(fixedDelayString = "${availability.push.window-ms:250}")
+    public void push() {
+        try {
+            roomAvailabilityPublisher.flush();
+        } catch (Exception ignored) {}
+    }
+}
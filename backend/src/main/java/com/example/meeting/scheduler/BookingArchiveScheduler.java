@@ -0,0 +1,21 @@
+package com.example.meeting.scheduler;
+
+import com.example.meeting.service.BookingArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookingArchiveScheduler {
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    // Run every hour
+    @Scheduled(fixedRate = 3600000, initialDelay = 600000)
+    public void archive() {
+        try {
+            bookingArchiveService.archiveOldBookings();
+        } catch (Exception ignored) {}
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.meeting.scheduler;
+
+import com.example.meeting.service.BookingChangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookingChangeScheduler {
+
+    @Autowired
+    private BookingChangeService bookingChangeService;
+
+    // Seed data is written by a runner, so the first pass waits until the runners are done
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        backfill();
+    }
+
+    // Picks up bookings written without a change sequence (imports, manual SQL) after startup
+    @Scheduled(fixedDelayString = "${bookings.change-backfill-ms:60000}", initialDelayString = "${bookings.change-backfill-ms:60000}")
+    public void backfill() {
+        try {
+            bookingChangeService.backfill();
+        } catch (Exception ignored) {}
+    }
+}
@@ -18,4 +18,12 @@ public class NotificationScheduler {
             notificationService.sendDueNotifications();
         } catch (Exception ignored) {}
     }
+
+    // Run every hour
+    @Scheduled(fixedRate = 3600000, initialDelay = 300000)
+    public void archive() {
+        try {
+            notificationService.archiveOldNotifications();
+        } catch (Exception ignored) {}
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.meeting.scheduler;
+
+import com.example.meeting.service.OutboxRelay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxScheduler {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    // Run every 2 seconds after the previous run finished
+    @Scheduled(fixedDelayString = "${outbox.poll-ms:2000}")
+    public void relay() {
+        try {
+            outboxRelay.relayPending();
+        } catch (Exception ignored) {}
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.meeting.scheduler;
+
+import com.example.meeting.resilience.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "ratelimit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitScheduler {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    // Run every minute
+    @Scheduled(fixedRate = 60000)
+    public void evictIdle() {
+        try {
+            rateLimiter.evictIdle();
+        } catch (Exception ignored) {}
+    }
+}
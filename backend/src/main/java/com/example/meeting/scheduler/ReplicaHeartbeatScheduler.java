@@ -0,0 +1,22 @@
+package com.example.meeting.scheduler;
+
+import com.example.meeting.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+public class ReplicaHeartbeatScheduler {
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Scheduled(fixedDelayString = "${replica.heartbeat-ms:1000}")
+    public void heartbeat() {
+        try {
+            replicaLagMonitor.heartbeat();
+        } catch (Exception ignored) {}
+    }
+}
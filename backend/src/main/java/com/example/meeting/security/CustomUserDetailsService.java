@@ -15,15 +15,20 @@ import java.util.Collections;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserIdentityCache userIdentityCache) {
         this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long generation = userIdentityCache.generation();
         UserAccount ua = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        // the one users-table read of a session; later requests resolve the principal from the cache
+        userIdentityCache.put(ua, generation);
         GrantedAuthority auth = new SimpleGrantedAuthority(ua.getRole());
         return new User(ua.getUsername(), ua.getPassword(), Collections.singletonList(auth));
     }
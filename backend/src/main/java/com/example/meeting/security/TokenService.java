@@ -0,0 +1,104 @@
+package com.example.meeting.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies HS256 JWTs carrying the user id, username and role, so any node holding the
+ * shared key can authenticate a request without a session or a database read. Access tokens are
+ * short-lived; refresh tokens only buy a new pair at {@code /api/auth/refresh}.
+ */
+public class TokenService {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private static final String HEADER = b64("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final byte[] key;
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public TokenService(byte[] key, long accessTtlSeconds, long refreshTtlSeconds) {
+        this.key = key.clone();
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+    }
+
+    public long getAccessTtlSeconds() { return accessTtlSeconds; }
+
+    public String issueAccessToken(UserIdentity user) {
+        return issue(user, ACCESS, accessTtlSeconds);
+    }
+
+    public String issueRefreshToken(UserIdentity user) {
+        return issue(user, REFRESH, refreshTtlSeconds);
+    }
+
+    /** The user of a valid, unexpired token of the given type; empty for anything else. */
+    public Optional<UserIdentity> verify(String token, String type) {
+        if (token == null) return Optional.empty();
+        int dot1 = token.indexOf('.');
+        int dot2 = token.lastIndexOf('.');
+        if (dot1 <= 0 || dot2 == dot1) return Optional.empty();
+        byte[] expected = sign(token.substring(0, dot2));
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(token.substring(dot2 + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(expected, actual)) return Optional.empty();
+        try {
+            JsonNode claims = mapper.readTree(Base64.getUrlDecoder().decode(token.substring(dot1 + 1, dot2)));
+            if (!type.equals(claims.path("typ").asText())) return Optional.empty();
+            if (claims.path("exp").asLong() <= System.currentTimeMillis() / 1000) return Optional.empty();
+            return Optional.of(new UserIdentity(claims.path("uid").asLong(), claims.path("sub").asText(),
+                    claims.path("role").asText()));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private String issue(UserIdentity user, String type, long ttlSeconds) {
+        long now = System.currentTimeMillis() / 1000;
+        ObjectNode claims = mapper.createObjectNode()
+                .put("sub", user.getUsername())
+                .put("uid", user.getId())
+                .put("role", user.getRole())
+                .put("typ", type)
+                .put("iat", now)
+                .put("exp", now + ttlSeconds);
+        String unsigned;
+        try {
+            unsigned = HEADER + "." + b64(mapper.writeValueAsBytes(claims));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not write token claims", e);
+        }
+        return unsigned + "." + b64(sign(unsigned));
+    }
+
+    private byte[] sign(String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static String b64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.meeting.security;
+
+import com.example.meeting.model.UserAccount;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Entity listener on {@link UserAccount}; keeps {@link UserIdentityCache} in step with the users table.
+ * Created by Hibernate through Spring, before the cache exists, hence the provider.
+ */
+public class UserAccountListener {
+
+    private final ObjectProvider<UserIdentityCache> userIdentityCache;
+
+    public UserAccountListener(ObjectProvider<UserIdentityCache> userIdentityCache) {
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void changed(UserAccount ua) {
+        userIdentityCache.ifAvailable(cache -> cache.evict(ua.getId()));
+    }
+}
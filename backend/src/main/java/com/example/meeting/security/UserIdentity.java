@@ -0,0 +1,34 @@
+package com.example.meeting.security;
+
+import com.example.meeting.model.UserAccount;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * What request handling needs to know about the signed-in user: id and role, without the password hash.
+ * Also the principal of bearer-token requests (see {@link TokenAuthenticationFilter}).
+ */
+public final class UserIdentity implements Principal, Serializable {
+
+    private final Long id;
+    private final String username;
+    private final String role;
+
+    public UserIdentity(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    static UserIdentity of(UserAccount ua) {
+        return new UserIdentity(ua.getId(), ua.getUsername(), ua.getRole());
+    }
+
+    @Override
+    public String getName() { return username; }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getRole() { return role; }
+}
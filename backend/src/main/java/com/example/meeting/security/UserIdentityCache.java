@@ -0,0 +1,113 @@
+package com.example.meeting.security;
+
+import com.example.meeting.config.CacheConfig;
+import com.example.meeting.model.UserAccount;
+import com.example.meeting.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.security.Principal;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Username to {@link UserIdentity}, shared by all requests. Filled at login by
+ * {@link CustomUserDetailsService} (or on the first miss), so resolving the principal of a request
+ * does not touch the users table. {@link UserAccountListener} drops a user after an update or delete
+ * commits; entries also expire after the TTL of the {@code user-identities} cache in
+ * {@code ehcache.xml}, which bounds how long a change made on another node goes unseen here. Unknown
+ * usernames are not remembered.
+ * <p>
+ * The query cache in front of {@code UserRepository.findByUsername} is not enough on its own: any write
+ * to the users table invalidates every cached lookup at once, and a hit still opens a session and
+ * resolves the entity. This layer sits above it, outside any transaction, holds only the immutable
+ * identity and is evicted one user at a time; the query cache serves the misses.
+ * <p>
+ * A miss that read the users table before a concurrent update must not re-insert what it read after
+ * that update's eviction. Every eviction bumps a generation; a loader checks it again after storing
+ * and takes its entry back out if an eviction happened since it started reading.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> byUsername;
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserIdentityCache(UserRepository userRepository, CacheManager jCacheManager) {
+        this.userRepository = userRepository;
+        this.byUsername = jCacheManager.getCache(CacheConfig.USER_IDENTITIES, String.class, UserIdentity.class);
+    }
+
+    public Optional<UserIdentity> resolve(String username) {
+        if (username == null) return Optional.empty();
+        UserIdentity cached = byUsername.get(username);
+        if (cached != null) return Optional.of(cached);
+        long seen = generation.get();
+        return userRepository.findByUsername(username).map(ua -> put(ua, seen));
+    }
+
+    /**
+     * The user behind a request principal. Bearer-token requests carry it already; session
+     * principals are looked up by name.
+     */
+    public Optional<UserIdentity> resolve(Principal principal) {
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof UserIdentity identity) {
+            return Optional.of(identity);
+        }
+        return principal == null ? Optional.empty() : resolve(principal.getName());
+    }
+
+    /** The user of the current security context, if authenticated. */
+    public Optional<UserIdentity> current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
+            return Optional.empty();
+        }
+        return resolve(auth);
+    }
+
+    /** To be read before loading a user that will be passed to {@link #put}. */
+    long generation() {
+        return generation.get();
+    }
+
+    /** Caches {@code ua} unless a user was evicted since {@code seen} was read. */
+    UserIdentity put(UserAccount ua, long seen) {
+        UserIdentity identity = UserIdentity.of(ua);
+        byUsername.put(identity.getUsername(), identity);
+        if (generation.get() != seen) {
+            // may be older than the eviction; leave it to the next miss
+            byUsername.remove(identity.getUsername(), identity);
+        }
+        return identity;
+    }
+
+    /**
+     * Forgets the user once the current transaction commits. Matched by id, since the update may
+     * have changed the username.
+     */
+    public void evict(Long userId) {
+        Runnable eviction = () -> {
+            generation.incrementAndGet();
+            for (Cache.Entry<String, UserIdentity> e : byUsername) {
+                if (e.getValue().getId().equals(userId)) byUsername.remove(e.getKey(), e.getValue());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.example.meeting.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.meeting.event.BookingEventBus;
+import com.example.meeting.event.BookingStatusChanged;
 import com.example.meeting.model.Booking;
 import com.example.meeting.model.ApprovalLog;
 import com.example.meeting.model.ApprovalAction;
@@ -23,14 +26,20 @@ public class ApprovalService {
     @Autowired
     private ApprovalLogRepository approvalLogRepository;
 
+    @Autowired
+    private BookingEventBus bookingEventBus;
+
+    @Transactional
     public Optional<Booking> approveBooking(Long bookingId) {
         Optional<Booking> booking = bookingRepository.findById(bookingId);
         if (booking.isPresent()) {
             Booking approvedBooking = booking.get();
+            String oldStatus = approvedBooking.getStatus();
             approvedBooking.setStatus("APPROVED");
             approvedBooking.setDecisionConfidence(1.0);
             approvedBooking.setDecisionRationale("Manually approved by admin");
             bookingRepository.save(approvedBooking);
+            bookingEventBus.publish(new BookingStatusChanged(approvedBooking, oldStatus, "admin"));
 
             ApprovalLog log = new ApprovalLog();
             log.setBookingId(approvedBooking.getId());
@@ -45,14 +54,17 @@ public class ApprovalService {
         return Optional.empty();
     }
 
+    @Transactional
     public Optional<Booking> rejectBooking(Long bookingId) {
         Optional<Booking> booking = bookingRepository.findById(bookingId);
         if (booking.isPresent()) {
             Booking rejectedBooking = booking.get();
+            String oldStatus = rejectedBooking.getStatus();
             rejectedBooking.setStatus("REJECTED");
             rejectedBooking.setDecisionConfidence(1.0);
             rejectedBooking.setDecisionRationale("Manually rejected by admin");
             bookingRepository.save(rejectedBooking);
+            bookingEventBus.publish(new BookingStatusChanged(rejectedBooking, oldStatus, "admin"));
 
             ApprovalLog log = new ApprovalLog();
             log.setBookingId(rejectedBooking.getId());
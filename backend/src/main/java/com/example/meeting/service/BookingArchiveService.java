@@ -0,0 +1,89 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.BookingArchiveProperties;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingArchive;
+import com.example.meeting.model.BookingHistory;
+import com.example.meeting.repository.BookingArchiveRepository;
+import com.example.meeting.repository.BookingHistoryArchiveRepository;
+import com.example.meeting.repository.BookingHistoryRepository;
+import com.example.meeting.repository.BookingRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hot / cold split of bookings. Bookings that ended more than {@code bookings.archive.retention-days} ago
+ * move, with their facilities and history, to the archive tables, so overlap checks, pending scans and
+ * user lists only ever read recent and upcoming bookings. History reads both, and analytics aggregates
+ * both in the database ({@link BookingRepository#roomStatsIncludingArchived}).
+ * Archived bookings leave a tombstone like deleted ones, so delta-syncing clients drop them too.
+ */
+@Service
+public class BookingArchiveService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final BookingHistoryArchiveRepository historyArchiveRepository;
+    private final BookingChangeService bookingChangeService;
+    private final BookingArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 BookingHistoryRepository bookingHistoryRepository,
+                                 BookingArchiveRepository bookingArchiveRepository,
+                                 BookingHistoryArchiveRepository historyArchiveRepository,
+                                 BookingChangeService bookingChangeService,
+                                 BookingArchiveProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.historyArchiveRepository = historyArchiveRepository;
+        this.bookingChangeService = bookingChangeService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Moves bookings past the retention period to the archive, chunk by chunk (one transaction each).
+     * Returns the number of bookings moved.
+     */
+    public int archiveOldBookings() {
+        if (!properties.isEnabled()) return 0;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getRetentionDays());
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(s -> {
+                Map<Long, Long> owners = bookingRepository.archiveChunk(cutoff, properties.getChunkSize());
+                bookingChangeService.recordDeletions(owners);
+                return owners.size();
+            });
+            total += moved;
+        } while (moved >= properties.getChunkSize());
+        return total;
+    }
+
+    /**
+     * History of a booking, newest first, whether the booking is still hot or already archived.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingHistory> getBookingHistory(Long bookingId) {
+        List<BookingHistory> hot = bookingHistoryRepository.findByBookingIdOrderByChangedAtDesc(bookingId);
+        if (!hot.isEmpty()) return hot;
+        Optional<BookingArchive> archived = bookingArchiveRepository.findById(bookingId);
+        if (archived.isEmpty()) return hot;
+        Booking booking = archived.get().toBooking();
+        return historyArchiveRepository.findByBookingIdOrderByChangedAtDesc(bookingId).stream()
+                .map(h -> h.toHistory(booking))
+                .toList();
+    }
+}
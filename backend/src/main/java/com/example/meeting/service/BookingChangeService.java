@@ -0,0 +1,164 @@
+package com.example.meeting.service;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingTombstone;
+import com.example.meeting.model.ChangeCounter;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.BookingTombstoneRepository;
+import com.example.meeting.repository.ChangeCounterRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change sequence behind the booking delta sync. Every booking write takes the next value of the
+ * {@code BOOKING} counter and stamps it on the row (or on a tombstone when the booking is deleted).
+ * The counter row stays locked until the writing transaction commits, so a reader that has seen
+ * counter value N can rely on every change up to N being visible: a client cursor never skips over a
+ * change that commits late.
+ */
+@Service
+public class BookingChangeService {
+
+    public static final String COUNTER = "BOOKING";
+
+    private final BookingRepository bookingRepository;
+    private final BookingTombstoneRepository tombstoneRepository;
+    private final ChangeCounterRepository counterRepository;
+
+    public BookingChangeService(BookingRepository bookingRepository,
+                                BookingTombstoneRepository tombstoneRepository,
+                                ChangeCounterRepository counterRepository) {
+        this.bookingRepository = bookingRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.counterRepository = counterRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        return advance(1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Long bookingId) {
+        if (bookingId != null) bookingRepository.stampChange(bookingId, next());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long bookingId, Long userId) {
+        if (bookingId != null) {
+            tombstoneRepository.save(new BookingTombstone(bookingId, userId, next(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Tombstones for many bookings leaving the hot table at once (owner by booking id), numbered from
+     * one block of the counter.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletions(Map<Long, Long> owners) {
+        if (owners.isEmpty()) return;
+        long seq = advance(owners.size()) - owners.size();
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingTombstone> tombstones = new ArrayList<>(owners.size());
+        for (Map.Entry<Long, Long> e : owners.entrySet()) {
+            tombstones.add(new BookingTombstone(e.getKey(), e.getValue(), ++seq, now));
+        }
+        tombstoneRepository.saveAll(tombstones);
+    }
+
+    /**
+     * Bookings changed and ids deleted after {@code since}, oldest change first, at most {@code limit}
+     * entries. {@code userId} restricts the feed to one owner; null returns every booking.
+     * The returned {@code cursor} is what the client sends as {@code since} next time; {@code hasMore}
+     * tells it to ask again straight away. A cursor from the future (e.g. a cache built against another
+     * database) comes back with {@code reset} set: the client drops its cache and syncs from 0.
+     * Read-only: bookings still waiting for {@link #backfill()} show up once it has stamped them.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> changesSince(Long userId, long since, int limit) {
+        Long committed = counterRepository.current(COUNTER);
+        long upTo = committed == null ? 0 : committed;
+        boolean reset = since > upTo;
+        if (reset) since = 0;
+
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Booking> changed;
+        List<BookingTombstone> deleted;
+        if (since >= upTo) {
+            changed = List.of();
+            deleted = List.of();
+        } else if (userId == null) {
+            changed = bookingRepository.findChanges(since, upTo, page);
+            deleted = tombstoneRepository.findChanges(since, upTo, page);
+        } else {
+            changed = bookingRepository.findUserChanges(userId, since, upTo, page);
+            deleted = tombstoneRepository.findUserChanges(userId, since, upTo, page);
+        }
+
+        List<Booking> changes = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        int c = 0, d = 0;
+        long cursor = Math.max(since, upTo);
+        while (changes.size() + deletedIds.size() < limit && (c < changed.size() || d < deleted.size())) {
+            boolean takeChange = d >= deleted.size()
+                    || (c < changed.size() && changed.get(c).getChangeSeq() < deleted.get(d).getChangeSeq());
+            if (takeChange) {
+                changes.add(changed.get(c++));
+            } else {
+                deletedIds.add(deleted.get(d++).getBookingId());
+            }
+        }
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        if (hasMore) {
+            // stop at the last entry returned; the rest follows on the next call
+            long lastChange = c == 0 ? since : changed.get(c - 1).getChangeSeq();
+            long lastDeletion = d == 0 ? since : deleted.get(d - 1).getChangeSeq();
+            cursor = Math.max(lastChange, lastDeletion);
+        }
+
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("changes", bookingRepository.toSummaries(changes));
+        resp.put("deleted", deletedIds);
+        resp.put("cursor", cursor);
+        resp.put("hasMore", hasMore);
+        resp.put("reset", reset);
+        return resp;
+    }
+
+    /**
+     * Gives a change sequence to bookings that were written without one, in a block reserved in one
+     * step: {@code base + id} keeps them distinct without touching them one by one. Run at startup and
+     * by {@code BookingChangeScheduler}, off the read path. Returns the number of bookings stamped.
+     */
+    @Transactional
+    public int backfill() {
+        if (bookingRepository.maxIdWithoutChangeSeq() == null) return 0;
+        advance(0); // takes the counter lock before reading the block size
+        Long maxId = bookingRepository.maxIdWithoutChangeSeq();
+        if (maxId == null) return 0;
+        long base = advance(maxId) - maxId;
+        return bookingRepository.backfillChangeSeq(base, maxId);
+    }
+
+    private long advance(long delta) {
+        if (counterRepository.advance(COUNTER, delta) == 0) {
+            // first change ever: continue from whatever is already stamped
+            long start = Math.max(nullToZero(bookingRepository.maxChangeSeq()), nullToZero(tombstoneRepository.maxChangeSeq()));
+            counterRepository.saveAndFlush(new ChangeCounter(COUNTER, start));
+            counterRepository.advance(COUNTER, delta);
+        }
+        return counterRepository.current(COUNTER);
+    }
+
+    private static long nullToZero(Long v) {
+        return v == null ? 0 : v;
+    }
+}
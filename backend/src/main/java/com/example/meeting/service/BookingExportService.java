@@ -0,0 +1,71 @@
+package com.example.meeting.service;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingSummary;
+import com.example.meeting.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON export of bookings (one JSON object per line, same shape as {@code GET /api/bookings}).
+ * Rows are read through a database cursor and written in chunks: each chunk loads the facilities of
+ * its bookings in one query and is then evicted from the persistence context, so memory stays flat
+ * however many bookings are exported.
+ */
+@Service
+public class BookingExportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public BookingExportService(BookingRepository bookingRepository, ObjectMapper objectMapper, EntityManager entityManager) {
+        this.bookingRepository = bookingRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Writes every booking matching the filters to {@code out}, ordered by (startTime, id).
+     * Returns the number of bookings written.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long roomId, Long userId, String status, LocalDateTime from, LocalDateTime to,
+                       OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<Booking> rows = bookingRepository.streamFiltered(roomId, userId, status, from, to)) {
+            Iterator<Booking> it = rows.iterator();
+            List<Booking> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK_SIZE || !it.hasNext()) {
+                    written += writeChunk(chunk, out);
+                    chunk.clear();
+                }
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    private int writeChunk(List<Booking> chunk, OutputStream out) throws IOException {
+        for (BookingSummary b : bookingRepository.toSummaries(chunk)) {
+            out.write(objectMapper.writeValueAsBytes(b));
+            out.write('\n');
+        }
+        entityManager.clear();
+        return chunk.size();
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.meeting.service;
 
+import com.example.meeting.event.BookingCancelled;
+import com.example.meeting.event.BookingCreated;
+import com.example.meeting.event.BookingEventBus;
+import com.example.meeting.event.BookingRescheduled;
+import com.example.meeting.event.BookingStatusChanged;
 import com.example.meeting.model.Booking;
 import com.example.meeting.model.BookingHistory;
 import com.example.meeting.repository.BookingRepository;
@@ -17,25 +22,25 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final BookingHistoryRepository bookingHistoryRepository;
     private final AiDecisionService aiDecisionService;
-    private final com.example.meeting.repository.UserRepository userRepository;
+    private final com.example.meeting.security.UserIdentityCache userIdentityCache;
     private final com.example.meeting.repository.RoomRepository roomRepository;
     private final com.example.meeting.repository.NotificationRepository notificationRepository;
-    private final NotificationService notificationService;
+    private final BookingEventBus bookingEventBus;
 
     public BookingService(BookingRepository bookingRepository,
                          BookingHistoryRepository bookingHistoryRepository,
                          AiDecisionService aiDecisionService,
-                         com.example.meeting.repository.UserRepository userRepository,
+                         com.example.meeting.security.UserIdentityCache userIdentityCache,
                          com.example.meeting.repository.RoomRepository roomRepository,
                          com.example.meeting.repository.NotificationRepository notificationRepository,
-                         NotificationService notificationService) {
+                         BookingEventBus bookingEventBus) {
         this.bookingRepository = bookingRepository;
         this.bookingHistoryRepository = bookingHistoryRepository;
         this.aiDecisionService = aiDecisionService;
-        this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
         this.roomRepository = roomRepository;
         this.notificationRepository = notificationRepository;
-        this.notificationService = notificationService;
+        this.bookingEventBus = bookingEventBus;
     }
 
 
@@ -55,6 +60,9 @@ public class BookingService {
         if (booking.getStartTime().isAfter(booking.getEndTime())) {
             throw new IllegalArgumentException("Start time must be before end time");
         }
+        if (java.time.Duration.between(booking.getStartTime(), booking.getEndTime()).compareTo(Booking.MAX_DURATION) > 0) {
+            throw new IllegalArgumentException("Bookings cannot be longer than " + Booking.MAX_DURATION.toHours() + " hours");
+        }
         if (booking.getStartTime().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Cannot book in the past");
         }
@@ -141,99 +149,14 @@ public class BookingService {
 
             // If userId not provided, infer from authenticated principal
             if (booking.getUserId() == null) {
-                org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-                if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
-                    String username = auth.getName();
-                    java.util.Optional<com.example.meeting.model.UserAccount> ua = userRepository.findByUsername(username);
-                    ua.ifPresent(user -> booking.setUserId(user.getId()));
-                }
+                userIdentityCache.current().ifPresent(user -> booking.setUserId(user.getId()));
             }
 
             Booking saved = bookingRepository.save(booking);
 
-            // Schedule reminders for the user based on configured offsets (default 30m,60m,1440m)
-            try {
-                java.util.List<Integer> offsets = java.util.Arrays.asList(30, 60, 1440);
-                
-                java.time.LocalDateTime start = saved.getStartTime();
-                if (start != null) {
-                    for (Integer m : offsets) {
-                        java.time.LocalDateTime when = start.minusMinutes(m);
-                        if (when.isAfter(java.time.LocalDateTime.now())) {
-                            // build payload JSON
-                            com.fasterxml.jackson.databind.node.ObjectNode payload = new com.fasterxml.jackson.databind.ObjectMapper().createObjectNode();
-                            payload.put("toUserId", saved.getUserId() == null ? 0 : saved.getUserId());
-                            payload.put("subject", "Upcoming meeting reminder");
-                            StringBuilder body = new StringBuilder();
-                            body.append("Meeting: ").append(saved.getPurpose()).append("\n");
-                            com.example.meeting.model.Room rm = roomRepository.findById(saved.getRoomId()).orElse(null);
-                            if (rm != null) {
-                                body.append("Room: ").append(rm.getName()).append(" (Location: ").append(rm.getLocation()).append(")\n");
-                            }
-                            body.append("Starts: ").append(saved.getStartTime().toString()).append("\n");
-                            payload.put("body", body.toString());
-                            notificationService.scheduleNotification(saved.getUserId(), saved.getId(), "REMINDER", "IN_APP", when, payload.toString());
-                        }
-                    }
-                }
-            } catch (Exception ignored) {}
-
-            // Create booking history entry
-            BookingHistory history = new BookingHistory(
-                saved,
-                "NEW",
-                saved.getStatus(),
-                "SYSTEM",
-                "Initial booking creation",
-                decision.getConfidence(),
-                String.join("; ", decision.getRationale())
-            );
-            bookingHistoryRepository.save(history);
-
-            // Notify facilities/tech team if booking requires special services
-            try {
-                boolean needsAv = false;
-                boolean needsVideo = false;
-                boolean needsCatering = false;
-                if (saved.getRequiredFacilities() != null) {
-                    for (String req : saved.getRequiredFacilities()) {
-                        String r = req == null ? "" : req.toLowerCase();
-                        if (r.contains("av") || r.contains("audio") || r.contains("microphone")) needsAv = true;
-                        if (r.contains("video") || r.contains("zoom") || r.contains("conference")) needsVideo = true;
-                        if (r.contains("cater")) needsCatering = true;
-                    }
-                }
-                // also inspect room equipment
-                com.example.meeting.model.Room rm = roomRepository.findById(saved.getRoomId()).orElse(null);
-                if (rm != null && rm.getEquipment() != null) {
-                    for (com.example.meeting.model.Equipment eq : rm.getEquipment()) {
-                        String t = eq.getName() == null ? "" : eq.getName().toLowerCase();
-                        if (t.contains("projector") || t.contains("microphone") || t.contains("pa")) needsAv = true;
-                        if (t.contains("camera") || t.contains("video")) needsVideo = true;
-                    }
-                }
-                if (needsAv || needsVideo || needsCatering) {
-                    // schedule immediate facilities notification (1 hour before by default)
-                    java.time.LocalDateTime when = saved.getStartTime().minusHours(1);
-                    if (when.isBefore(java.time.LocalDateTime.now())) when = java.time.LocalDateTime.now().plusMinutes(1);
-                    com.fasterxml.jackson.databind.node.ObjectNode payload = new com.fasterxml.jackson.databind.ObjectMapper().createObjectNode();
-                    payload.put("subject", "Facilities support required for upcoming meeting");
-                    StringBuilder b = new StringBuilder();
-                    b.append("Booking: ").append(saved.getPurpose()).append("\nRoom: ");
-                    b.append(rm == null ? saved.getRoomId() : rm.getName()).append("\nStarts: ").append(saved.getStartTime().toString()).append("\n");
-                    if (needsAv) b.append("Needs: AV setup\n");
-                    if (needsVideo) b.append("Needs: Video Conferencing setup\n");
-                    if (needsCatering) b.append("Needs: Catering\n");
-                    payload.put("body", b.toString());
-                    // schedule for configured facility emails
-                    String[] emails = new String[] {"facilities@company.local", "it-support@company.local"};
-                    for (String e : emails) {
-                        com.fasterxml.jackson.databind.node.ObjectNode p2 = payload.deepCopy();
-                        p2.put("to", e);
-                        notificationService.scheduleNotification(null, saved.getId(), "FACILITIES", "EMAIL", when, p2.toString());
-                    }
-                }
-            } catch (Exception ignored) {}
+            // History entry, reminders (notifications.default-offsets-minutes) and facilities requests
+            // are recorded in the outbox by a listener and carried out once this transaction has committed
+            bookingEventBus.publish(new BookingCreated(saved));
 
             return saved;
         } catch (Exception e) {
@@ -243,6 +166,9 @@ public class BookingService {
 
     @Transactional
     public Booking updateBookingStatus(Long bookingId, String newStatus, String changedBy, String reason) {
+        if (!com.example.meeting.model.BookingStatusConverter.isKnown(newStatus)) {
+            throw new IllegalArgumentException("Unknown booking status: " + newStatus);
+        }
         Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
         if (bookingOpt.isPresent()) {
             Booking booking = bookingOpt.get();
@@ -261,15 +187,21 @@ public class BookingService {
             );
             bookingHistoryRepository.save(history);
 
-            return bookingRepository.save(booking);
+            Booking saved = bookingRepository.save(booking);
+            bookingEventBus.publish("CANCELLED".equals(newStatus)
+                    ? new BookingCancelled(saved, oldStatus, false)
+                    : new BookingStatusChanged(saved, oldStatus, changedBy));
+            return saved;
         }
         throw new RuntimeException("Booking not found with id: " + bookingId);
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getPendingBookings() {
         return bookingRepository.findPendingBookings();
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getRoomBookings(Long roomId, String status) {
         if (status != null) {
             return bookingRepository.findByRoomIdAndStatus(roomId, status);
@@ -277,6 +209,7 @@ public class BookingService {
         return bookingRepository.findByRoomId(roomId);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingHistory> getBookingHistory(Long bookingId) {
         return bookingHistoryRepository.findByBookingIdOrderByChangedAtDesc(bookingId);
     }
@@ -304,19 +237,26 @@ public class BookingService {
             );
             bookingHistoryRepository.save(history);
             bookingRepository.save(booking);
+            bookingEventBus.publish(new BookingCancelled(booking, oldStatus, false));
         } else {
             throw new RuntimeException("Booking not found with id: " + bookingId);
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getHighPriorityBookings(Integer minPriority) {
         return bookingRepository.findByPriorityGreaterThanEqual(minPriority);
     }
 
-    public java.util.Optional<com.example.meeting.model.UserAccount> findUserByUsername(String username) {
-        return userRepository.findByUsername(username);
+    public java.util.Optional<com.example.meeting.security.UserIdentity> findUserByUsername(String username) {
+        return userIdentityCache.resolve(username);
+    }
+
+    public java.util.Optional<com.example.meeting.security.UserIdentity> findUser(java.security.Principal principal) {
+        return userIdentityCache.resolve(principal);
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsForUser(Long userId) {
         return bookingRepository.findByUserId(userId);
     }
@@ -325,21 +265,57 @@ public class BookingService {
         return bookingRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
     }
 
+    /**
+     * List read model of the given bookings; use it instead of serializing the entities, which loads
+     * the facilities of each booking separately.
+     */
+    @Transactional(readOnly = true)
+    public List<com.example.meeting.model.BookingSummary> summaries(List<Booking> bookings) {
+        return bookingRepository.toSummaries(bookings);
+    }
+
+    /**
+     * One page of bookings matching the optional filters, ordered by (startTime, id). The cursor is the
+     * start time and id of the last booking of the previous page, or null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public List<Booking> getBookingsPage(Long roomId, Long userId, String status, LocalDateTime from, LocalDateTime to,
+                                         LocalDateTime afterStart, Long afterId, int size) {
+        return bookingRepository.findPage(roomId, userId, status, from, to, afterStart, afterId,
+                org.springframework.data.domain.PageRequest.of(0, size));
+    }
+
+    @Transactional
     public void deleteBooking(Long id) {
-        bookingRepository.deleteById(id);
+        Booking gone = bookingRepository.findById(id)
+                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.NOT_FOUND, "Booking not found"));
+        bookingRepository.delete(gone);
+        bookingEventBus.publish(new BookingCancelled(gone, gone.getStatus(), true));
     }
 
+    @Transactional
     public Booking updateBooking(Long id, Booking bookingDetails) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
+        if (bookingDetails.getStartTime() != null && bookingDetails.getEndTime() != null
+                && java.time.Duration.between(bookingDetails.getStartTime(), bookingDetails.getEndTime()).compareTo(Booking.MAX_DURATION) > 0) {
+            throw new IllegalArgumentException("Bookings cannot be longer than " + Booking.MAX_DURATION.toHours() + " hours");
+        }
+        LocalDateTime oldStart = booking.getStartTime();
+        LocalDateTime oldEnd = booking.getEndTime();
+        Long oldRoomId = booking.getRoomId();
         booking.setRoomId(bookingDetails.getRoomId());
         booking.setStartTime(bookingDetails.getStartTime());
         booking.setEndTime(bookingDetails.getEndTime());
         booking.setUserId(bookingDetails.getUserId());
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        bookingEventBus.publish(new BookingRescheduled(saved, oldRoomId, oldStart, oldEnd));
+        return saved;
     }
 }
\ No newline at end of file
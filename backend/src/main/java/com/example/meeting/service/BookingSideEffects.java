@@ -0,0 +1,163 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingHistory;
+import com.example.meeting.model.Equipment;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.model.OutboxEvent;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingHistoryRepository;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.NotificationRepository;
+import com.example.meeting.repository.RoomRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox handlers for booking events. Every handler works from the booking's current state and is
+ * idempotent (history existence check, notification dedupe keys), so a redelivered or reordered
+ * event converges to the same result.
+ */
+@Service
+public class BookingSideEffects {
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final RoomRepository roomRepository;
+    private final NotificationRepository notificationRepository;
+    private final ReminderService reminderService;
+    private final NotificationProperties notificationProperties;
+    private final ObjectMapper objectMapper;
+
+    public BookingSideEffects(BookingRepository bookingRepository,
+                              BookingHistoryRepository bookingHistoryRepository,
+                              RoomRepository roomRepository,
+                              NotificationRepository notificationRepository,
+                              ReminderService reminderService,
+                              NotificationProperties notificationProperties,
+                              ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.roomRepository = roomRepository;
+        this.notificationRepository = notificationRepository;
+        this.reminderService = reminderService;
+        this.notificationProperties = notificationProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs inside the relay's per-event transaction.
+     */
+    public void handle(OutboxEvent event) throws Exception {
+        Long bookingId = event.getAggregateId();
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        switch (event.getEventType()) {
+            case OutboxService.BOOKING_CREATED:
+                if (booking == null) return; // deleted before the relay got to it
+                recordCreation(booking, event.getPayload());
+                reminderService.scheduleFor(booking);
+                scheduleFacilities(booking);
+                break;
+            case OutboxService.BOOKING_CANCELLED:
+                reminderService.cancelFor(bookingId);
+                break;
+            case OutboxService.BOOKING_RESCHEDULED:
+                reminderService.cancelFor(bookingId);
+                if (booking != null) {
+                    reminderService.scheduleFor(booking);
+                    scheduleFacilities(booking);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown booking event " + event.getEventType());
+        }
+    }
+
+    private void recordCreation(Booking booking, String payload) throws Exception {
+        if (bookingHistoryRepository.existsByBookingIdAndPreviousStatus(booking.getId(), "NEW")) return;
+        JsonNode p = payload == null ? objectMapper.createObjectNode() : objectMapper.readTree(payload);
+        BookingHistory history = new BookingHistory(
+                booking,
+                "NEW",
+                p.has("status") ? p.get("status").asText() : booking.getStatus(),
+                "SYSTEM",
+                "Initial booking creation",
+                booking.getDecisionConfidence(),
+                booking.getDecisionRationale()
+        );
+        if (p.has("at")) history.setChangedAt(LocalDateTime.parse(p.get("at").asText()));
+        bookingHistoryRepository.save(history);
+    }
+
+    /**
+     * Schedules a FACILITIES email to every configured facilities mailbox when the booking
+     * (or its room) needs AV, video conferencing or catering.
+     */
+    void scheduleFacilities(Booking booking) {
+        if (!ReminderService.isActive(booking.getStatus()) || booking.getStartTime() == null) return;
+        boolean needsAv = false;
+        boolean needsVideo = false;
+        boolean needsCatering = false;
+        if (booking.getRequiredFacilities() != null) {
+            for (String req : booking.getRequiredFacilities()) {
+                String r = req == null ? "" : req.toLowerCase();
+                if (r.contains("av") || r.contains("audio") || r.contains("microphone")) needsAv = true;
+                if (r.contains("video") || r.contains("zoom") || r.contains("conference")) needsVideo = true;
+                if (r.contains("cater")) needsCatering = true;
+            }
+        }
+        // also inspect room equipment
+        Room rm = roomRepository.findById(booking.getRoomId()).orElse(null);
+        if (rm != null && rm.getEquipment() != null) {
+            for (Equipment eq : rm.getEquipment()) {
+                String t = eq.getName() == null ? "" : eq.getName().toLowerCase();
+                if (t.contains("projector") || t.contains("microphone") || t.contains("pa")) needsAv = true;
+                if (t.contains("camera") || t.contains("video")) needsVideo = true;
+            }
+        }
+        if (!(needsAv || needsVideo || needsCatering)) return;
+
+        // facilities notification 1 hour before, or right away if that is already past
+        LocalDateTime when = booking.getStartTime().minusHours(1);
+        if (when.isBefore(LocalDateTime.now())) when = LocalDateTime.now().plusMinutes(1);
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("subject", "Facilities support required for upcoming meeting");
+        StringBuilder b = new StringBuilder();
+        b.append("Booking: ").append(booking.getPurpose()).append("\nRoom: ");
+        b.append(rm == null ? booking.getRoomId() : rm.getName()).append("\nStarts: ").append(booking.getStartTime().toString()).append("\n");
+        if (needsAv) b.append("Needs: AV setup\n");
+        if (needsVideo) b.append("Needs: Video Conferencing setup\n");
+        if (needsCatering) b.append("Needs: Catering\n");
+        payload.put("body", b.toString());
+
+        List<Notification> rows = new ArrayList<>();
+        for (String e : notificationProperties.getFacilitiesEmails()) {
+            ObjectNode p2 = payload.deepCopy();
+            p2.put("to", e);
+            Notification n = new Notification();
+            n.setBookingId(booking.getId());
+            n.setType("FACILITIES");
+            n.setMethod("EMAIL");
+            n.setScheduledAt(when);
+            n.setPayload(p2.toString());
+            n.setStatus(NotificationStatus.PENDING);
+            n.setDedupeKey("FACILITIES:" + booking.getId() + ":" + e + ":" + booking.getStartTime());
+            rows.add(n);
+        }
+        Set<String> existing = new HashSet<>(notificationRepository.findExistingDedupeKeys(
+                rows.stream().map(Notification::getDedupeKey).collect(Collectors.toList())));
+        rows.removeIf(n -> existing.contains(n.getDedupeKey()));
+        if (!rows.isEmpty()) notificationRepository.saveAll(rows);
+    }
+}
@@ -13,10 +13,12 @@ import java.util.Optional;
 public class EquipmentService {
 
     private final EquipmentRepository equipmentRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
-    public EquipmentService(EquipmentRepository equipmentRepository) {
+    public EquipmentService(EquipmentRepository equipmentRepository, ReferenceDataCache referenceDataCache) {
         this.equipmentRepository = equipmentRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     public List<Equipment> getEquipmentByRoom(Long roomId) {
@@ -42,6 +44,7 @@ public class EquipmentService {
         if (equipment.isPresent()) {
             Equipment eq = equipment.get();
             eq.setStatus(newStatus);
+            referenceDataCache.evictEquipment(equipmentId);
             return equipmentRepository.save(eq);
         }
         throw new RuntimeException("Equipment not found with id: " + equipmentId);
@@ -50,6 +53,7 @@ public class EquipmentService {
     @Transactional
     public void removeEquipment(Long equipmentId) {
         equipmentRepository.deleteById(equipmentId);
+        referenceDataCache.evictEquipment(equipmentId);
     }
 
     public List<Equipment> getAllEquipment() {
@@ -62,6 +66,7 @@ public class EquipmentService {
         if (equipment.isPresent()) {
             Equipment eq = equipment.get();
             // Note: Room assignment should be handled through Room entity
+            referenceDataCache.evictEquipment(equipmentId);
             return equipmentRepository.save(eq);
         }
         throw new RuntimeException("Equipment not found with id: " + equipmentId);
@@ -74,6 +79,7 @@ public class EquipmentService {
             Equipment eq = equipment.get();
             eq.setStatus("MAINTENANCE");
             // Could add maintenance tracking fields if needed
+            referenceDataCache.evictEquipment(equipmentId);
             return equipmentRepository.save(eq);
         }
         throw new RuntimeException("Equipment not found with id: " + equipmentId);
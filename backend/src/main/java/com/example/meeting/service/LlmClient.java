@@ -3,6 +3,11 @@ package com.example.meeting.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.example.meeting.resilience.AdaptiveConcurrencyLimiter;
+import com.example.meeting.resilience.AdmissionControlFilter;
+import com.example.meeting.resilience.CapacityExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -13,6 +18,11 @@ import reactor.util.retry.Retry;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 @Service
@@ -30,6 +40,19 @@ public class LlmClient {
     @Value("${gemini.api.enabled:true}")
     private boolean enabled;
 
+    // bounds concurrent Gemini calls; refused calls make callers fall back to rules
+    @Autowired(required = false)
+    @Qualifier("llmConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    // bulkhead: blocking Gemini calls run on this bounded pool (see ExecutorConfig)
+    @Autowired(required = false)
+    @Qualifier("llmExecutor")
+    private Executor llmExecutor;
+
+    @Value("${executors.llm-timeout-seconds:35}")
+    private long timeoutSeconds;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     private WebClient client() {
@@ -78,7 +101,50 @@ public class LlmClient {
             // When Gemini is not enabled or configured, use fallback responses
             return getFallbackResponse(prompt);
         }
+        long started = System.nanoTime();
+        try {
+            return llmExecutor == null ? call(prompt) : await(askAsync(prompt));
+        } finally {
+            // the llm limiter judges this wait; the request limiter should not
+            AdmissionControlFilter.excludeFromLatency(System.nanoTime() - started);
+        }
+    }
 
+    private String await(CompletableFuture<String> future) {
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RuntimeException("Gemini AI request timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for Gemini AI", e);
+        }
+    }
+
+    /**
+     * Runs the call on the {@code llmExecutor} bulkhead. Throws CapacityExceededException at once
+     * when every thread of that pool is busy.
+     */
+    public CompletableFuture<String> askAsync(String prompt) {
+        if (!isConfigured()) return CompletableFuture.completedFuture(getFallbackResponse(prompt));
+        if (llmExecutor == null) return CompletableFuture.completedFuture(call(prompt));
+        try {
+            return CompletableFuture.supplyAsync(() -> call(prompt), llmExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new CapacityExceededException("Gemini AI worker pool is full");
+        }
+    }
+
+    private String call(String prompt) {
+        AdaptiveConcurrencyLimiter.Permit permit = null;
+        if (concurrencyLimiter != null) {
+            permit = concurrencyLimiter.tryAcquire();
+            if (permit == null) throw new CapacityExceededException("Gemini AI concurrency limit reached");
+        }
+        boolean ok = false;
         ObjectNode requestBody = createGeminiRequest(prompt);
 
         try {
@@ -99,7 +165,9 @@ public class LlmClient {
             if (response != null && response.has("candidates") && response.get("candidates").size() > 0) {
                 JsonNode content = response.get("candidates").get(0).get("content");
                 if (content != null && content.has("parts") && content.get("parts").size() > 0) {
-                    return content.get("parts").get(0).get("text").asText();
+                    String text = content.get("parts").get(0).get("text").asText();
+                    ok = true;
+                    return text;
                 }
             }
             throw new RuntimeException("No valid response from Gemini AI");
@@ -108,6 +176,8 @@ public class LlmClient {
                 throw new RuntimeException("Gemini AI request timed out", e);
             }
             throw new RuntimeException("Error calling Gemini AI: " + e.getMessage(), e);
+        } finally {
+            if (permit != null) permit.release(ok);
         }
     }
 }
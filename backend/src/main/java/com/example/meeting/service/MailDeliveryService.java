@@ -0,0 +1,142 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.NotificationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers outgoing email off the dispatcher thread.
+ * Messages are grouped by recipient domain and sent in chunks, each chunk over a single SMTP
+ * transport session (JavaMailSender's varargs send). Each domain gets a queue of its chunks and at
+ * most {@code perDomainConcurrency} lanes on the bounded {@code mailExecutor} (see
+ * {@link com.example.meeting.config.ExecutorConfig}); a lane sends chunks from its domain's queue until
+ * it is empty. Chunks of a slow relay wait in that queue rather than holding workers, so the domain
+ * occupies at most that many workers while the others keep the rest.
+ */
+@Service
+public class MailDeliveryService {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDeliveryService.class);
+
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final NotificationProperties.Delivery cfg;
+    private final ThreadPoolExecutor executor;
+
+    public MailDeliveryService(NotificationProperties notificationProperties,
+                               Optional<JavaMailSender> mailSender,
+                               Optional<MeterRegistry> meterRegistry,
+                               @Qualifier("mailExecutor") ThreadPoolExecutor executor) {
+        this.mailSender = mailSender.orElse(null);
+        this.meterRegistry = meterRegistry.orElse(null);
+        this.cfg = notificationProperties.getDelivery();
+        this.executor = executor;
+    }
+
+    /**
+     * Sends all messages and blocks until every chunk has completed.
+     * Returns the messages that could not be delivered, keyed by identity, with their cause.
+     */
+    public Map<SimpleMailMessage, Exception> deliver(List<SimpleMailMessage> messages) {
+        Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+        if (messages.isEmpty() || mailSender == null) return failures;
+
+        Map<String, List<SimpleMailMessage>> byDomain = new LinkedHashMap<>();
+        for (SimpleMailMessage m : messages) {
+            byDomain.computeIfAbsent(domainOf(m), k -> new ArrayList<>()).add(m);
+        }
+
+        List<Future<Map<SimpleMailMessage, Exception>>> pending = new ArrayList<>();
+        for (List<SimpleMailMessage> all : byDomain.values()) {
+            Queue<List<SimpleMailMessage>> chunks = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < all.size(); i += cfg.getBatchSize()) {
+                chunks.add(all.subList(i, Math.min(all.size(), i + cfg.getBatchSize())));
+            }
+            int lanes = Math.min(chunks.size(), Math.max(1, cfg.getPerDomainConcurrency()));
+            for (int i = 0; i < lanes; i++) {
+                pending.add(executor.submit(() -> drain(chunks)));
+            }
+        }
+        for (Future<Map<SimpleMailMessage, Exception>> f : pending) {
+            try {
+                failures.putAll(f.get());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for mail delivery", ie);
+            } catch (Exception ex) {
+                // sendChunk reports its own failures; anything here is unexpected
+                log.warn("Mail delivery task failed", ex);
+            }
+        }
+        return failures;
+    }
+
+    // one lane of a domain: sends its chunks one after another until none are left
+    private Map<SimpleMailMessage, Exception> drain(Queue<List<SimpleMailMessage>> chunks) {
+        Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+        List<SimpleMailMessage> chunk;
+        while ((chunk = chunks.poll()) != null) {
+            failures.putAll(sendChunk(chunk));
+        }
+        return failures;
+    }
+
+    private Map<SimpleMailMessage, Exception> sendChunk(List<SimpleMailMessage> chunk) {
+        Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+        long started = System.nanoTime();
+        String outcome = "success";
+        try {
+            mailSender.send(chunk.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException mse) {
+            outcome = "partial";
+            mse.getFailedMessages().forEach((msg, ex) -> {
+                if (msg instanceof SimpleMailMessage) failures.put((SimpleMailMessage) msg, ex);
+            });
+            if (failures.isEmpty()) {
+                // connection-level failure: nothing in the chunk went out
+                outcome = "failure";
+                chunk.forEach(m -> failures.put(m, mse));
+            }
+        } catch (Exception ex) {
+            outcome = "failure";
+            chunk.forEach(m -> failures.put(m, ex));
+        }
+        if (meterRegistry != null) {
+            // not tagged by recipient domain: one series per domain would grow without bound
+            Timer.builder("notifications.mail.send")
+                    .description("Latency of one SMTP session delivering a chunk of messages")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("notifications.mail.messages", "outcome", "sent").increment(chunk.size() - failures.size());
+            meterRegistry.counter("notifications.mail.messages", "outcome", "failed").increment(failures.size());
+        }
+        return failures;
+    }
+
+    static String domainOf(SimpleMailMessage m) {
+        String[] to = m.getTo();
+        if (to == null || to.length == 0 || to[0] == null) return "unknown";
+        int at = to[0].lastIndexOf('@');
+        return at < 0 ? "unknown" : to[0].substring(at + 1).trim().toLowerCase();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Notification;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the deliveries of a dispatch page into digests: one per user and channel, and one per
+ * facilities mailbox. A group of one is delivered exactly like an ungrouped notification.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private final NotificationProperties notificationProperties;
+    private final ObjectMapper objectMapper;
+
+    public NotificationCoalescer(NotificationProperties notificationProperties, ObjectMapper objectMapper) {
+        this.notificationProperties = notificationProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Splits a page into delivery groups, preserving page order. With coalescing disabled every
+     * notification is its own group.
+     */
+    public List<List<Notification>> group(List<Notification> page) {
+        Map<String, List<Notification>> groups = new LinkedHashMap<>();
+        boolean enabled = notificationProperties.getCoalesce().isEnabled();
+        for (Notification n : page) {
+            String key = enabled ? keyOf(n) : null;
+            if (key == null) key = "single|" + System.identityHashCode(n);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(n);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Recipient key of a notification, or null when there is nothing to coalesce on.
+     */
+    String keyOf(Notification n) {
+        String to = field(n, "to");
+        String channel = n.getMethod() + "|" + (to == null ? "" : to.toLowerCase());
+        if ("FACILITIES".equalsIgnoreCase(n.getType())) {
+            return to == null ? null : "facilities|" + channel;
+        }
+        return n.getUserId() == null ? null : "user|" + n.getUserId() + "|" + channel;
+    }
+
+    /**
+     * Builds the email for a group, or null when the group is not delivered over SMTP.
+     * A single notification keeps its own subject and body.
+     */
+    public SimpleMailMessage email(List<Notification> group) {
+        Notification first = group.get(0);
+        if (!"EMAIL".equalsIgnoreCase(first.getMethod())) return null;
+        // payload should be simple JSON: { to, subject, body }; an unreadable payload fails the group
+        JsonNode node = parse(first);
+        String to = node.has("to") ? node.get("to").asText(null) : null;
+        if (to == null) return null;
+        SimpleMailMessage msg = new SimpleMailMessage();
+        msg.setTo(to);
+        if (group.size() == 1) {
+            msg.setSubject(node.has("subject") ? node.get("subject").asText("Meeting reminder") : "Meeting reminder");
+            msg.setText(node.has("body") ? node.get("body").asText("") : "");
+        } else {
+            boolean facilities = "FACILITIES".equalsIgnoreCase(first.getType());
+            msg.setSubject(facilities
+                    ? "Facilities support required for " + group.size() + " upcoming meetings"
+                    : group.size() + " upcoming meeting reminders");
+            msg.setText(digestBody(group));
+        }
+        return msg;
+    }
+
+    String digestBody(List<Notification> group) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < group.size(); i++) {
+            if (i > 0) body.append("\n----------------------------------------\n\n");
+            String text = field(group.get(i), "body");
+            body.append(text == null ? "" : text);
+        }
+        return body.toString();
+    }
+
+    /**
+     * WebSocket payload for a group: the notification itself, or one DIGEST message for several.
+     */
+    public Object message(List<Notification> group) {
+        if (group.size() == 1) return group.get(0);
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("type", "DIGEST");
+        m.put("userId", group.get(0).getUserId());
+        m.put("count", group.size());
+        m.put("notifications", group);
+        return m;
+    }
+
+    private JsonNode parse(Notification n) {
+        try {
+            return objectMapper.readTree(n.getPayload());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unreadable payload for notification " + n.getId(), e);
+        }
+    }
+
+    private String field(Notification n, String name) {
+        if (n.getPayload() == null) return null;
+        try {
+            JsonNode node = parse(n);
+            return node.has(name) ? node.get(name).asText(null) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides what happens to a notification whose delivery failed: back to PENDING with a jittered
+ * exponential backoff, or DEAD once the attempts are exhausted. Retries are picked up by the regular
+ * dispatch cycle once {@code nextAttemptAt} has passed.
+ */
+@Component
+public class NotificationRetryPolicy {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // an SMTP reply code at the start of a server message, e.g. "550 5.1.1 User unknown"
+    private static final Pattern REPLY_CODE = Pattern.compile("^\\s*([2-5]\\d\\d)\\b");
+
+    private final NotificationProperties notificationProperties;
+
+    public NotificationRetryPolicy(NotificationProperties notificationProperties) {
+        this.notificationProperties = notificationProperties;
+    }
+
+    /**
+     * Records a failed attempt on {@code n}. Pass {@code retryable = false} for failures that cannot
+     * succeed on a later attempt (e.g. an unreadable payload): the row goes straight to DEAD.
+     */
+    public void recordFailure(Notification n, Exception error, boolean retryable, LocalDateTime now) {
+        n.setAttempts(n.getAttempts() + 1);
+        n.setLastError(describe(error));
+        if (!retryable || n.getAttempts() >= notificationProperties.getRetry().getMaxAttempts()) {
+            n.setStatus(NotificationStatus.DEAD);
+            n.setNextAttemptAt(null);
+        } else {
+            n.setStatus(NotificationStatus.PENDING);
+            n.setNextAttemptAt(now.plusNanos(backoffMillis(n.getAttempts()) * 1_000_000L));
+        }
+    }
+
+    /**
+     * True for failures a later attempt cannot fix: a 5xx reply from the server (e.g. 550 mailbox
+     * unavailable), an address that does not parse, or a message that cannot be built.
+     */
+    public boolean isPermanent(Exception error) {
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof com.sun.mail.smtp.SMTPAddressFailedException e) return e.getReturnCode() >= 500;
+            if (t instanceof com.sun.mail.smtp.SMTPSendFailedException e) return e.getReturnCode() >= 500;
+            if (t instanceof javax.mail.internet.AddressException
+                    || t instanceof MailParseException || t instanceof MailPreparationException) return true;
+            int code = replyCode(t);
+            if (code > 0) return code >= 500;
+        }
+        return false;
+    }
+
+    /**
+     * True when the SMTP session itself failed rather than one message: the relay could not be
+     * reached, timed out, refused the login or closed with 421. Nothing of the chunk went out.
+     */
+    public boolean isConnectionFailure(Exception error) {
+        // MailDeliveryService reports a session that failed before any message with the exception itself
+        if (error instanceof MailSendException mse && mse.getFailedMessages().isEmpty()) return true;
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof com.sun.mail.util.MailConnectException || t instanceof java.net.ConnectException
+                    || t instanceof java.net.SocketTimeoutException || t instanceof java.net.UnknownHostException
+                    || t instanceof javax.mail.AuthenticationFailedException
+                    || t instanceof MailAuthenticationException) return true;
+            if (replyCode(t) == 421) return true;
+        }
+        return false;
+    }
+
+    private static int replyCode(Throwable t) {
+        if (t.getMessage() == null) return -1;
+        Matcher m = REPLY_CODE.matcher(t.getMessage());
+        return m.find() ? Integer.parseInt(m.group(1)) : -1;
+    }
+
+    /**
+     * Backoff after the given number of failed attempts: the exponential delay capped at the
+     * configured maximum, of which a random half is kept ("equal jitter") so rows failed by the same
+     * outage do not all come back in the same cycle.
+     */
+    public long backoffMillis(int attempts) {
+        NotificationProperties.Retry cfg = notificationProperties.getRetry();
+        long cap = cfg.getMaxDelaySeconds() * 1000L;
+        long delay = cfg.getInitialDelaySeconds() * 1000L;
+        for (int i = 1; i < attempts && delay < cap; i++) delay *= 2;
+        delay = Math.min(delay, cap);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private String describe(Exception error) {
+        if (error == null) return null;
+        String msg = error.getClass().getSimpleName() + (error.getMessage() == null ? "" : ": " + error.getMessage());
+        return msg.length() > MAX_ERROR_LENGTH ? msg.substring(0, MAX_ERROR_LENGTH) : msg;
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.meeting.service;
 
+import com.example.meeting.config.NotificationProperties;
 import com.example.meeting.model.Notification;
 import com.example.meeting.model.NotificationStatus;
 import com.example.meeting.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import javax.annotation.PostConstruct;
+import java.net.InetAddress;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class NotificationService {
@@ -18,19 +27,52 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
+    @Autowired
+    private MailDeliveryService mailDeliveryService;
 
     @Autowired(required = false)
     private SimpMessagingTemplate messagingTemplate;
 
     @Autowired
-    private org.springframework.web.client.RestTemplate restTemplate;
+    private ReminderEnrichmentService reminderEnrichmentService;
+
+    @Autowired
+    private ReminderService reminderService;
 
     @org.springframework.beans.factory.annotation.Autowired
     @org.springframework.context.annotation.Lazy
     private BookingService bookingService;
 
+    @Autowired
+    private NotificationProperties notificationProperties;
+
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+
+    @Autowired
+    private NotificationRetryPolicy notificationRetryPolicy;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    private String nodeId;
+
+    @PostConstruct
+    void initNodeId() {
+        String configured = notificationProperties.getDispatch().getNodeId();
+        if (configured != null && !configured.isBlank()) {
+            nodeId = configured;
+            return;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
     public Notification scheduleNotification(Long userId, Long bookingId, String type, String method, LocalDateTime when, String payload) {
         Notification n = new Notification();
         n.setUserId(userId);
@@ -43,79 +85,142 @@ public class NotificationService {
         return notificationRepository.save(n);
     }
 
+    /**
+     * Drains due notifications page by page. Each page is claimed atomically for this node, so any
+     * number of instances can run the scheduler without sending the same row twice; outcomes are
+     * written back in one JDBC batch per page. In virtual reminder mode the reminders due now are
+     * materialized first so they go out in the same cycle. Failed deliveries come back through the
+     * same claim once their backoff has elapsed. Pending rows for the same recipients that
+     * fall due within the coalescing window join the claim and are delivered as one digest.
+     */
     public void sendDueNotifications() {
-        List<Notification> due = notificationRepository.findByStatusAndScheduledAtBefore(NotificationStatus.PENDING, LocalDateTime.now().plusSeconds(1));
-        for (Notification n : due) {
-            try {
-                sendNotification(n);
-                n.setStatus(NotificationStatus.SENT);
-                n.setSentAt(LocalDateTime.now());
-                // publish to websocket topic for immediate delivery
-                try {
-                    if (messagingTemplate != null) {
-                        messagingTemplate.convertAndSend("/topic/notifications/user/" + (n.getUserId() == null ? "all" : n.getUserId()), n);
-                    }
-                } catch (Exception ignored) {}
-            } catch (Exception e) {
-                n.setStatus(NotificationStatus.FAILED);
+        NotificationProperties.Dispatch cfg = notificationProperties.getDispatch();
+        try {
+            reminderService.materializeDue(LocalDateTime.now());
+        } catch (Exception ignored) {}
+        int claimed;
+        do {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            claimed = notificationRepository.claimDue(nodeId, now, now.plusSeconds(1),
+                    now.minusSeconds(cfg.getLeaseSeconds()), cfg.getBatchSize());
+            if (claimed == 0) return;
+            List<Notification> page = notificationRepository
+                    .findByStatusAndClaimedByAndClaimedAtOrderByScheduledAtAsc(NotificationStatus.CLAIMED, nodeId, now);
+            if (claimCompanions(page, now) > 0) {
+                page = notificationRepository
+                        .findByStatusAndClaimedByAndClaimedAtOrderByScheduledAtAsc(NotificationStatus.CLAIMED, nodeId, now);
             }
-            notificationRepository.save(n);
-        }
+            if (!dispatchPage(page)) return;
+        } while (claimed >= cfg.getBatchSize());
     }
 
-    public void sendNotification(Notification n) {
-        // For email, try JavaMailSender if available. For in-app, persistence is already stored.
-        if ("REMINDER".equalsIgnoreCase(n.getType())) {
-            // enrich with AI suggestions if not already present
-            try {
-                com.fasterxml.jackson.databind.ObjectMapper om = new com.fasterxml.jackson.databind.ObjectMapper();
-                com.fasterxml.jackson.databind.JsonNode node = om.readTree(n.getPayload());
-                boolean hasSuggestions = node.has("suggestions");
-                if (!hasSuggestions && node.has("bookingId")) {
-                    Long bookingId = node.get("bookingId").asLong();
-                    // fetch booking to get room/time/capacity
-                    String api = "http://localhost:8080/api/bookings/" + bookingId;
-                    try {
-                        com.fasterxml.jackson.databind.JsonNode booking = restTemplate.getForObject(api, com.fasterxml.jackson.databind.JsonNode.class);
-                        if (booking != null && booking.has("roomId") && booking.has("startTime") && booking.has("endTime")) {
-                            Long roomId = booking.get("roomId").asLong();
-                            String start = booking.get("startTime").asText();
-                            String end = booking.get("endTime").asText();
-                            int capacity = booking.has("attendeesCount") ? booking.get("attendeesCount").asInt() : 1;
-                            String suggestUrl = String.format("http://localhost:8080/api/bookings/suggest?roomId=%d&start=%s&end=%s&capacity=%d", roomId, java.net.URLEncoder.encode(start, java.nio.charset.StandardCharsets.UTF_8), java.net.URLEncoder.encode(end, java.nio.charset.StandardCharsets.UTF_8), capacity);
-                            com.fasterxml.jackson.databind.JsonNode sug = restTemplate.getForObject(suggestUrl, com.fasterxml.jackson.databind.JsonNode.class);
-                            if (sug != null) {
-                                ((com.fasterxml.jackson.databind.node.ObjectNode) node).set("suggestions", sug.get("alternateRooms"));
-                                n.setPayload(om.writeValueAsString(node));
-                            }
-                        }
-                    } catch (Exception ignored) {}
-                }
-            } catch (Exception ignored) {}
+    /**
+     * Moves finished notifications past the retention window to the archive table, chunk by chunk,
+     * so the hot table only holds live rows and recent history. Returns the number of rows moved.
+     */
+    public int archiveOldNotifications() {
+        NotificationProperties.Archive cfg = notificationProperties.getArchive();
+        if (!cfg.isEnabled()) return 0;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(cfg.getRetentionDays());
+        int total = 0;
+        int moved;
+        do {
+            moved = notificationRepository.archiveChunk(cutoff, cfg.getChunkSize());
+            total += moved;
+        } while (moved >= cfg.getChunkSize());
+        return total;
+    }
+
+    /**
+     * Adds to the current claim the pending rows that would end up in the same digest as a row of the page.
+     */
+    private int claimCompanions(List<Notification> page, LocalDateTime claimedAt) {
+        NotificationProperties.Coalesce cfg = notificationProperties.getCoalesce();
+        if (!cfg.isEnabled()) return 0;
+        int added = 0;
+        boolean facilities = false;
+        Set<String> seen = new HashSet<>();
+        for (Notification n : page) {
+            if ("FACILITIES".equalsIgnoreCase(n.getType())) {
+                facilities = true;
+            } else if (n.getUserId() != null && n.getMethod() != null && seen.add(n.getUserId() + "|" + n.getMethod())) {
+                added += notificationRepository.claimUserCompanions(nodeId, claimedAt, n.getUserId(), n.getMethod(),
+                        claimedAt.plusMinutes(cfg.getWindowMinutes()));
+            }
+        }
+        if (facilities) {
+            added += notificationRepository.claimFacilitiesCompanions(nodeId, claimedAt,
+                    claimedAt.plusMinutes(cfg.getFacilitiesWindowMinutes()));
         }
+        return added;
+    }
 
-        if ("EMAIL".equalsIgnoreCase(n.getMethod()) && mailSender != null) {
-            SimpleMailMessage msg = new SimpleMailMessage();
-            // payload should be simple JSON: { toEmail, subject, body }
-            // defensive parse
-            String body = n.getPayload();
-            String to = null;
-            String subject = "Meeting reminder";
+    /**
+     * Delivers one claimed page and writes the outcome back. Failed rows are rescheduled by the
+     * retry policy, or moved to DEAD at once when the server rejected them permanently (5xx). Returns
+     * false when nothing of the page went out and at least {@code breakerMinFailures} emails failed on
+     * the connection, i.e. SMTP is most likely unavailable and draining further pages this cycle
+     * would only burn attempts.
+     */
+    private boolean dispatchPage(List<Notification> page) {
+        try {
+            reminderEnrichmentService.enrich(page);
+        } catch (Exception ignored) {}
+        List<List<Notification>> groups = notificationCoalescer.group(page);
+        Map<SimpleMailMessage, List<Notification>> emails = new IdentityHashMap<>();
+        for (List<Notification> group : groups) {
             try {
-                com.fasterxml.jackson.databind.JsonNode node = new com.fasterxml.jackson.databind.ObjectMapper().readTree(body);
-                to = node.has("to") ? node.get("to").asText(null) : null;
-                subject = node.has("subject") ? node.get("subject").asText(subject) : subject;
-                String text = node.has("body") ? node.get("body").asText("") : "";
-                if (to != null) {
-                    msg.setTo(to);
-                    msg.setSubject(subject);
-                    msg.setText(text);
-                    mailSender.send(msg);
+                SimpleMailMessage msg = notificationCoalescer.email(group);
+                if (msg != null) {
+                    emails.put(msg, group);
+                } else {
+                    group.forEach(this::markSent);
                 }
             } catch (Exception e) {
-                throw new RuntimeException(e);
+                // a payload that cannot be turned into a message will not get better on retry
+                group.forEach(n -> notificationRetryPolicy.recordFailure(n, e, false, LocalDateTime.now()));
             }
         }
-        // in-app notifications are represented by the DB record; clients poll or websocket can be used to surface them.
+        boolean deliveryDown = false;
+        if (!emails.isEmpty()) {
+            Map<SimpleMailMessage, Exception> failures = mailDeliveryService.deliver(new ArrayList<>(emails.keySet()));
+            int connectionFailures = 0;
+            for (Map.Entry<SimpleMailMessage, List<Notification>> e : emails.entrySet()) {
+                Exception error = failures.get(e.getKey());
+                if (error == null) {
+                    e.getValue().forEach(this::markSent);
+                    continue;
+                }
+                if (notificationRetryPolicy.isConnectionFailure(error)) connectionFailures++;
+                // e.g. 550 no such mailbox: straight to DEAD instead of retrying with backoff
+                boolean retryable = !notificationRetryPolicy.isPermanent(error);
+                e.getValue().forEach(n -> notificationRetryPolicy.recordFailure(n, error, retryable, LocalDateTime.now()));
+            }
+            // a page of bad addresses says nothing about the relay; only a failing connection does
+            deliveryDown = failures.size() == emails.size()
+                    && connectionFailures >= notificationProperties.getRetry().getBreakerMinFailures();
+        }
+        int[] written = notificationRepository.completeClaimed(page, nodeId);
+        for (int i = 0; i < written.length; i++) {
+            Notification n = page.get(i);
+            if (written[i] > 0 && n.getStatus() == NotificationStatus.SENT) unreadCounterService.adjust(n.getUserId(), 1);
+        }
+        // publish to websocket topic for immediate delivery, one message per group
+        if (messagingTemplate != null) {
+            for (List<Notification> group : groups) {
+                if (group.get(0).getStatus() != NotificationStatus.SENT) continue;
+                Long userId = group.get(0).getUserId();
+                try {
+                    messagingTemplate.convertAndSend("/topic/notifications/user/" + (userId == null ? "all" : userId),
+                            notificationCoalescer.message(group));
+                } catch (Exception ignored) {}
+            }
+        }
+        return !deliveryDown;
+    }
+
+    private void markSent(Notification n) {
+        n.setStatus(NotificationStatus.SENT);
+        n.setSentAt(LocalDateTime.now());
     }
 }
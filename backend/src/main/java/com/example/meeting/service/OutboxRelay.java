@@ -0,0 +1,114 @@
+package com.example.meeting.service;
+
+import com.example.meeting.model.OutboxEvent;
+import com.example.meeting.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Carries out outbox events in batches with at-least-once semantics. A batch is claimed with a lease
+ * (so several instances can relay side by side and a crashed relay's batch is picked up again);
+ * each event is then handled in its own transaction that also deletes the event, so an event is
+ * gone exactly when its side effects are committed. Failures are retried with exponential backoff
+ * and parked as DEAD after {@code outbox.max-attempts}.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingSideEffects bookingSideEffects;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final String nodeId;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       BookingSideEffects bookingSideEffects,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.batch-size:100}") int batchSize,
+                       @Value("${outbox.lease-seconds:60}") long leaseSeconds,
+                       @Value("${outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.node-id:}") String nodeId) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.bookingSideEffects = bookingSideEffects;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? generatedNodeId() : nodeId;
+    }
+
+    private static String generatedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Drains the outbox batch by batch. Returns the number of events handled successfully.
+     */
+    public int relayPending() {
+        int handled = 0;
+        int claimed;
+        do {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            claimed = outboxEventRepository.claim(nodeId, now, now.minusSeconds(leaseSeconds), batchSize);
+            if (claimed == 0) break;
+            List<OutboxEvent> batch = outboxEventRepository.findByStatusAndClaimedByAndClaimedAtOrderByIdAsc("CLAIMED", nodeId, now);
+            for (OutboxEvent event : batch) {
+                if (process(event)) handled++;
+            }
+        } while (claimed >= batchSize);
+        return handled;
+    }
+
+    private boolean process(OutboxEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    if (OutboxService.BOOKING.equals(event.getAggregateType())) {
+                        bookingSideEffects.handle(event);
+                    } else {
+                        throw new IllegalArgumentException("Unknown aggregate type " + event.getAggregateType());
+                    }
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+                if (outboxEventRepository.deleteClaimed(event.getId(), nodeId) == 0) {
+                    // lease expired and another relay took the event over: let it do the work
+                    throw new IllegalStateException("Lost claim on outbox event " + event.getId());
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            int attempts = event.getAttempts() + 1;
+            boolean dead = attempts >= maxAttempts;
+            LocalDateTime next = dead ? null : LocalDateTime.now().plusSeconds(Math.min(600, 5L << Math.min(attempts, 7)));
+            String error = e.getClass().getSimpleName() + (e.getMessage() == null ? "" : ": " + e.getMessage());
+            outboxEventRepository.releaseClaimed(event.getId(), nodeId, dead ? "DEAD" : "PENDING", attempts, next,
+                    error.length() > 1000 ? error.substring(0, 1000) : error);
+            log.warn("Outbox event {} ({}) failed, attempt {}: {}", event.getId(), event.getEventType(), attempts, error);
+            return false;
+        }
+    }
+}
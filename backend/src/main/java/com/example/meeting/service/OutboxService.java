@@ -0,0 +1,65 @@
+package com.example.meeting.service;
+
+import com.example.meeting.model.OutboxEvent;
+import com.example.meeting.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records side-effect intents in the caller's transaction: they are committed together with the
+ * change that causes them, or not at all. {@link OutboxRelay} carries them out afterwards.
+ */
+@Service
+public class OutboxService {
+
+    public static final String BOOKING = "BOOKING";
+    public static final String BOOKING_CREATED = "BOOKING_CREATED";
+    public static final String BOOKING_CANCELLED = "BOOKING_CANCELLED";
+    public static final String BOOKING_RESCHEDULED = "BOOKING_RESCHEDULED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent record(String aggregateType, Long aggregateId, String eventType, String payload) {
+        return outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, payload));
+    }
+
+    /**
+     * History entry, reminders and facilities requests of a new booking. The payload keeps the
+     * initial status and creation time, which the booking row no longer holds once it moves on.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent bookingCreated(Long bookingId, String initialStatus, LocalDateTime createdAt) {
+        ObjectNode p = objectMapper.createObjectNode();
+        p.put("status", initialStatus);
+        p.put("at", createdAt.toString());
+        return record(BOOKING, bookingId, BOOKING_CREATED, p.toString());
+    }
+
+    /**
+     * Cancellation of the pending notifications of a cancelled, rejected or deleted booking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent bookingCancelled(Long bookingId) {
+        return record(BOOKING, bookingId, BOOKING_CANCELLED, null);
+    }
+
+    /**
+     * Recomputation of the notifications of a moved or reinstated booking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent bookingRescheduled(Long bookingId) {
+        return record(BOOKING, bookingId, BOOKING_RESCHEDULED, null);
+    }
+}
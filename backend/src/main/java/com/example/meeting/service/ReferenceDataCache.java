@@ -0,0 +1,62 @@
+package com.example.meeting.service;
+
+import com.example.meeting.model.Equipment;
+import com.example.meeting.model.Room;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Evicts rooms and equipment from the Hibernate second-level cache when {@link RoomService} or
+ * {@link EquipmentService} change them. Writes through the entity manager already keep the entity
+ * entries current; this also drops what Hibernate cannot see from one side of a change: the equipment
+ * sets of every room holding a changed piece of equipment, and the cached room lists.
+ * Eviction runs after commit, so a concurrent reader cannot put the old state back.
+ */
+@Service
+public class ReferenceDataCache {
+
+    private static final String ROOM_EQUIPMENT = Room.class.getName() + ".equipment";
+
+    private final Cache cache;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    public void evictRoom(Long roomId) {
+        afterCommit(() -> {
+            if (roomId != null) {
+                cache.evictEntityData(Room.class, roomId);
+                cache.evictCollectionData(ROOM_EQUIPMENT, roomId);
+            }
+            cache.evictQueryRegions();
+        });
+    }
+
+    public void evictEquipment(Long equipmentId) {
+        afterCommit(() -> {
+            if (equipmentId != null) cache.evictEntityData(Equipment.class, equipmentId);
+            // the rooms holding it are not known here
+            cache.evictCollectionData(ROOM_EQUIPMENT);
+            cache.evictQueryRegions();
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
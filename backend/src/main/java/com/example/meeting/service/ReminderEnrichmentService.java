@@ -0,0 +1,172 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.CacheConfig;
+import com.example.meeting.event.BookingEvent;
+import com.example.meeting.event.BookingEventListener;
+import com.example.meeting.event.BookingRescheduled;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adds alternate-room suggestions to REMINDER payloads before dispatch.
+ * Bookings for a whole page are loaded in one query and suggestions are computed once per
+ * (room, slot, capacity), so every reminder for the same meeting shares one computation.
+ * <p>
+ * Computed suggestions are kept across dispatch cycles in the bounded {@code reminder-suggestions}
+ * cache of {@code ehcache.xml}, which has a time-to-live, since each offset of a meeting is reminded
+ * in a different cycle. A booking change drops the entries it can affect: those of the changed
+ * room, those suggesting it, and those whose slot overlaps the booking's old or new time.
+ */
+@Service
+public class ReminderEnrichmentService implements BookingEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderEnrichmentService.class);
+
+    private final BookingRepository bookingRepository;
+    private final SuggestionService suggestionService;
+    private final ObjectMapper objectMapper;
+    private final Cache<SlotKey, ArrayNode> suggestions;
+
+    public ReminderEnrichmentService(BookingRepository bookingRepository,
+                                     SuggestionService suggestionService,
+                                     ObjectMapper objectMapper,
+                                     CacheManager jCacheManager) {
+        this.bookingRepository = bookingRepository;
+        this.suggestionService = suggestionService;
+        this.objectMapper = objectMapper;
+        this.suggestions = jCacheManager.getCache(CacheConfig.REMINDER_SUGGESTIONS, SlotKey.class, ArrayNode.class);
+    }
+
+    // key type of the reminder-suggestions cache in ehcache.xml
+    static final class SlotKey {
+        final Long roomId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final int capacity;
+
+        SlotKey(Booking b) {
+            this.roomId = b.getRoomId();
+            this.start = b.getStartTime();
+            this.end = b.getEndTime();
+            this.capacity = b.getAttendeesCount() == null ? 1 : b.getAttendeesCount();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SlotKey)) return false;
+            SlotKey k = (SlotKey) o;
+            return capacity == k.capacity && Objects.equals(roomId, k.roomId)
+                    && Objects.equals(start, k.start) && Objects.equals(end, k.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(roomId, start, end, capacity);
+        }
+    }
+
+    /**
+     * Enriches, in place, every REMINDER of the page whose payload has no suggestions yet.
+     * Failures are logged and leave the payload untouched; they never block delivery.
+     */
+    @Transactional(readOnly = true)
+    public void enrich(List<Notification> page) {
+        List<Notification> reminders = page.stream()
+                .filter(n -> "REMINDER".equalsIgnoreCase(n.getType()) && n.getBookingId() != null)
+                .collect(Collectors.toList());
+        if (reminders.isEmpty()) return;
+
+        Map<Long, Booking> bookings = bookingRepository.findAllById(
+                        reminders.stream().map(Notification::getBookingId).distinct().collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        for (Notification n : reminders) {
+            try {
+                JsonNode node = objectMapper.readTree(n.getPayload());
+                if (!(node instanceof ObjectNode) || node.has("suggestions")) continue;
+                Booking b = bookings.get(n.getBookingId());
+                if (b == null || b.getRoomId() == null || b.getStartTime() == null || b.getEndTime() == null) continue;
+                SlotKey key = new SlotKey(b);
+                ArrayNode alternates = suggestions.get(key);
+                if (alternates == null) {
+                    alternates = compute(key);
+                    suggestions.put(key, alternates);
+                }
+                ((ObjectNode) node).set("suggestions", alternates);
+                n.setPayload(objectMapper.writeValueAsString(node));
+            } catch (Exception e) {
+                log.debug("Could not enrich reminder {}: {}", n.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onBookingEvent(BookingEvent event) {
+        Set<Long> rooms = new HashSet<>();
+        rooms.add(event.getRoomId());
+        LocalDateTime prevStart = null;
+        LocalDateTime prevEnd = null;
+        if (event instanceof BookingRescheduled r) {
+            rooms.add(r.getPreviousRoomId());
+            prevStart = r.getPreviousStartTime();
+            prevEnd = r.getPreviousEndTime();
+        }
+        for (Cache.Entry<SlotKey, ArrayNode> e : suggestions) {
+            SlotKey k = e.getKey();
+            if (rooms.contains(k.roomId) || suggestsAny(e.getValue(), rooms)
+                    || overlaps(k, event.getStartTime(), event.getEndTime()) || overlaps(k, prevStart, prevEnd)) {
+                suggestions.remove(k);
+            }
+        }
+    }
+
+    private static boolean suggestsAny(ArrayNode alternates, Set<Long> rooms) {
+        for (JsonNode alt : alternates) {
+            if (rooms.contains(alt.path("roomId").asLong())) return true;
+        }
+        return false;
+    }
+
+    private static boolean overlaps(SlotKey k, LocalDateTime start, LocalDateTime end) {
+        return start != null && end != null && k.start.isBefore(end) && start.isBefore(k.end);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayNode compute(SlotKey key) {
+        Map<String, Object> result = suggestionService.suggest(key.roomId, key.start, key.end, key.capacity);
+        ArrayNode out = objectMapper.createArrayNode();
+        for (Map<String, Object> alt : (List<Map<String, Object>>) result.getOrDefault("alternateRooms", List.of())) {
+            Room r = (Room) alt.get("room");
+            ObjectNode o = out.addObject();
+            o.put("roomId", r.getId());
+            o.put("name", r.getName());
+            o.put("location", r.getLocation());
+            o.put("capacity", r.getCapacity());
+            Object from = alt.get("availableFrom");
+            o.put("availableFrom", from == null ? null : from.toString());
+            o.put("score", (Double) alt.get("score"));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.NotificationRepository;
+import com.example.meeting.repository.RoomRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reminder scheduling for meeting owners.
+ * <p>
+ * In MATERIALIZED mode one PENDING row per configured offset is written when the booking is created.
+ * In VIRTUAL mode nothing is written at booking time: each dispatch cycle scans the window of upcoming
+ * approved bookings and inserts a row only for reminders that are due right now. That row doubles as
+ * the delivery receipt, and its dedupe key makes the insert idempotent across cycles and nodes.
+ */
+@Service
+public class ReminderService {
+
+    private final NotificationRepository notificationRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final NotificationProperties notificationProperties;
+    private final ObjectMapper objectMapper;
+
+    public ReminderService(NotificationRepository notificationRepository,
+                           BookingRepository bookingRepository,
+                           RoomRepository roomRepository,
+                           NotificationProperties notificationProperties,
+                           ObjectMapper objectMapper) {
+        this.notificationRepository = notificationRepository;
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.notificationProperties = notificationProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Whether a booking in this status should still be reminded of.
+     */
+    public static boolean isActive(String bookingStatus) {
+        return !BookingRepository.INACTIVE_STATUSES.contains(bookingStatus);
+    }
+
+    /**
+     * Writes the reminder rows for a newly created or rescheduled booking (MATERIALIZED mode only).
+     */
+    public List<Notification> scheduleFor(Booking booking) {
+        if (notificationProperties.getReminders().isVirtual() || booking.getStartTime() == null
+                || !isActive(booking.getStatus())) {
+            return Collections.emptyList();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Room room = booking.getRoomId() == null ? null : roomRepository.findById(booking.getRoomId()).orElse(null);
+        String payload = null;
+        List<Notification> rows = new ArrayList<>();
+        for (Integer m : notificationProperties.getDefaultOffsetsMinutes()) {
+            LocalDateTime when = booking.getStartTime().minusMinutes(m);
+            if (!when.isAfter(now)) continue;
+            if (payload == null) payload = payload(booking, room);
+            Notification n = reminder(booking, when, payload);
+            n.setDedupeKey(dedupeKey(booking, m));
+            rows.add(n);
+        }
+        if (rows.isEmpty()) return rows;
+        // scheduling the same booking slot twice (e.g. a redelivered outbox event) adds nothing
+        Set<String> existing = new HashSet<>(notificationRepository.findExistingDedupeKeys(
+                rows.stream().map(Notification::getDedupeKey).toList()));
+        rows.removeIf(n -> existing.contains(n.getDedupeKey()));
+        return rows.isEmpty() ? rows : notificationRepository.saveAll(rows);
+    }
+
+    /**
+     * Cancels every still pending notification of a booking (reminders and facilities requests) in one
+     * statement. Rows already claimed by a dispatcher are left to finish.
+     */
+    public int cancelFor(Long bookingId) {
+        return bookingId == null ? 0 : notificationRepository.cancelPendingForBooking(bookingId);
+    }
+
+    /**
+     * Inserts the reminders of upcoming approved bookings that are due at {@code now} and have not been
+     * delivered yet (VIRTUAL mode only). Returns the number of new rows; they are picked up by the same
+     * dispatch cycle.
+     * <p>
+     * Each offset reads only the bookings whose reminder falls in the catch-up window, i.e. starting in
+     * {@code (now + offset - catchUp, now + offset]}, rather than everything up to the largest offset.
+     * New rows are inserted in one JDBC batch; the unique dedupe key settles races with other nodes.
+     */
+    public int materializeDue(LocalDateTime now) {
+        NotificationProperties.Reminders cfg = notificationProperties.getReminders();
+        List<Integer> offsets = notificationProperties.getDefaultOffsetsMinutes();
+        if (!cfg.isVirtual() || offsets.isEmpty()) return 0;
+
+        Map<String, Notification> candidates = new LinkedHashMap<>();
+        Map<Long, Room> rooms = new LinkedHashMap<>();
+        Map<Long, String> payloads = new LinkedHashMap<>();
+        for (Integer m : new LinkedHashSet<>(offsets)) {
+            LocalDateTime latestStart = now.plusMinutes(m);
+            // same bookings as MATERIALIZED mode reminds: every status that still holds the slot
+            List<Booking> due = bookingRepository.findByStatusNotInAndStartTimeGreaterThanAndStartTimeLessThanEqual(
+                    BookingRepository.INACTIVE_STATUSES, latestStart.minusMinutes(cfg.getCatchUpMinutes()), latestStart);
+            for (Booking b : due) {
+                String payload = payloads.computeIfAbsent(b.getId(), id -> {
+                    Room room = b.getRoomId() == null ? null
+                            : rooms.computeIfAbsent(b.getRoomId(), r -> roomRepository.findById(r).orElse(null));
+                    return payload(b, room);
+                });
+                Notification n = reminder(b, b.getStartTime().minusMinutes(m), payload);
+                n.setDedupeKey(dedupeKey(b, m));
+                candidates.put(n.getDedupeKey(), n);
+            }
+        }
+        if (candidates.isEmpty()) return 0;
+
+        Set<String> existing = new HashSet<>(notificationRepository.findExistingDedupeKeys(candidates.keySet()));
+        List<Notification> fresh = candidates.values().stream().filter(n -> !existing.contains(n.getDedupeKey())).toList();
+        if (fresh.isEmpty()) return 0;
+        try {
+            notificationRepository.saveAllAndFlush(fresh);
+            return fresh.size();
+        } catch (DataIntegrityViolationException raced) {
+            // another node materialized some of them since the lookup; the batch was rolled back
+        }
+        int inserted = 0;
+        for (Notification n : fresh) {
+            n.setId(null);
+            try {
+                notificationRepository.saveAndFlush(n);
+                inserted++;
+            } catch (DataIntegrityViolationException alreadyThere) {
+                // this one was the duplicate
+            }
+        }
+        return inserted;
+    }
+
+    // start time is part of the key so a rescheduled meeting is reminded again
+    private static String dedupeKey(Booking b, int offsetMinutes) {
+        return "REMINDER:" + b.getId() + ":" + offsetMinutes + ":" + b.getStartTime();
+    }
+
+    private Notification reminder(Booking b, LocalDateTime when, String payload) {
+        Notification n = new Notification();
+        n.setUserId(b.getUserId());
+        n.setBookingId(b.getId());
+        n.setType("REMINDER");
+        n.setMethod("IN_APP");
+        n.setScheduledAt(when);
+        n.setPayload(payload);
+        n.setStatus(NotificationStatus.PENDING);
+        return n;
+    }
+
+    String payload(Booking b, Room room) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("toUserId", b.getUserId() == null ? 0 : b.getUserId());
+        payload.put("subject", "Upcoming meeting reminder");
+        StringBuilder body = new StringBuilder();
+        body.append("Meeting: ").append(b.getPurpose()).append("\n");
+        if (room != null) {
+            body.append("Room: ").append(room.getName()).append(" (Location: ").append(room.getLocation()).append(")\n");
+        }
+        body.append("Starts: ").append(b.getStartTime().toString()).append("\n");
+        payload.put("body", body.toString());
+        return payload.toString();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.meeting.service;
 
 import com.example.meeting.model.Equipment;
 import com.example.meeting.model.Room;
+import com.example.meeting.model.RoomSummary;
 import com.example.meeting.repository.EquipmentRepository;
 import com.example.meeting.repository.RoomRepository;
 import org.springframework.stereotype.Service;
@@ -19,25 +20,29 @@ public class RoomService {
     private final EquipmentRepository equipmentRepository;
     private final EquipmentService equipmentService;
     private final com.example.meeting.repository.BookingRepository bookingRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     public RoomService(RoomRepository roomRepository,
                       EquipmentRepository equipmentRepository,
                       EquipmentService equipmentService,
-                      com.example.meeting.repository.BookingRepository bookingRepository) {
+                      com.example.meeting.repository.BookingRepository bookingRepository,
+                      ReferenceDataCache referenceDataCache) {
         this.roomRepository = roomRepository;
         this.equipmentRepository = equipmentRepository;
         this.equipmentService = equipmentService;
         this.bookingRepository = bookingRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
-    public java.util.List<Room> findAvailableRooms(java.time.LocalDateTime start, java.time.LocalDateTime end, String location) {
-        java.util.List<Room> all = roomRepository.findAll();
-        java.util.List<Room> res = new java.util.ArrayList<>();
-        for (Room r : all) {
+    @Transactional(readOnly = true)
+    public java.util.List<RoomSummary> findAvailableRooms(java.time.LocalDateTime start, java.time.LocalDateTime end, String location) {
+        // one query for the busy rooms instead of an overlap query per room
+        java.util.Set<Long> busy = new HashSet<>(bookingRepository.findBusyRoomIds(start, end));
+        java.util.List<RoomSummary> res = new java.util.ArrayList<>();
+        for (Room r : roomRepository.findAllWithEquipment()) {
             if (location != null && !location.isBlank() && (r.getLocation() == null || !r.getLocation().toLowerCase().contains(location.toLowerCase()))) continue;
-            var overlaps = bookingRepository.findOverlappingBookings(r.getId(), start, end);
-            if (overlaps == null || overlaps.isEmpty()) {
-                res.add(r);
+            if (!busy.contains(r.getId())) {
+                res.add(new RoomSummary(r));
             }
         }
         return res;
@@ -54,11 +59,14 @@ public class RoomService {
     @Transactional
     public Room createRoom(Room room) {
         validateRoom(room);
-        return roomRepository.save(room);
+        Room saved = roomRepository.save(room);
+        referenceDataCache.evictRoom(saved.getId());
+        return saved;
     }
 
-    public List<Room> findRooms(Integer minCapacity, String status, List<String> equipmentTypes) {
-        List<Room> rooms = roomRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<RoomSummary> findRooms(Integer minCapacity, String status, List<String> equipmentTypes) {
+        List<Room> rooms = roomRepository.findAllWithEquipment();
 
         return rooms.stream()
             .filter(room -> minCapacity == null || room.getCapacity() >= minCapacity)
@@ -66,6 +74,7 @@ public class RoomService {
             .filter(room -> equipmentTypes == null || equipmentTypes.isEmpty() || 
                     room.getEquipment().stream()
                         .anyMatch(eq -> equipmentTypes.contains(eq.getType())))
+            .map(RoomSummary::new)
             .toList();
     }
 
@@ -81,6 +90,7 @@ public class RoomService {
         room.setCapacity(roomDetails.getCapacity());
         room.setStatus(roomDetails.getStatus());
 
+        referenceDataCache.evictRoom(id);
         return roomRepository.save(room);
     }
 
@@ -94,6 +104,7 @@ public class RoomService {
         roomRepository.save(room);
         
         roomRepository.delete(room);
+        referenceDataCache.evictRoom(id);
     }
 
     public List<Room> getRoomsByCapacity(int minCapacity) {
@@ -112,6 +123,7 @@ public class RoomService {
         }
         room.getEquipment().add(savedEquipment);
         
+        referenceDataCache.evictRoom(roomId);
         return roomRepository.save(room);
     }
 
@@ -128,6 +140,7 @@ public class RoomService {
         }
         
         room.getEquipment().remove(equipment);
+        referenceDataCache.evictRoom(roomId);
         return roomRepository.save(room);
     }
 
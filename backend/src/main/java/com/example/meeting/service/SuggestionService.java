@@ -0,0 +1,176 @@
+package com.example.meeting.service;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.RoomRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alternate slot / alternate room suggestion engine behind {@code /api/bookings/suggest}.
+ * Also used in-process by the reminder enrichment stage.
+ */
+@Service
+public class SuggestionService {
+
+    private static final Map<String, Double> TYPE_WEIGHTS = Map.of(
+            "VIDEO", 1.0,
+            "DISPLAY", 0.9,
+            "AUDIO", 0.7,
+            "CONTROL", 0.5,
+            "INPUT", 0.6,
+            "FURNITURE", 0.4,
+            "OTHER", 0.5);
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+
+    public SuggestionService(BookingRepository bookingRepository, RoomRepository roomRepository) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Returns {@code nextSlots} (up to 5 free slots for the same room within a week) and
+     * {@code alternateRooms} (top 5 scored rooms with at least the requested capacity).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> suggest(Long roomId, LocalDateTime s, LocalDateTime e, Integer capacity) {
+        // If requested room is busy, find next available slots for same room (simple incremental search)
+        Duration duration = Duration.between(s, e);
+        LocalDateTime cursor = s.plusMinutes(30);
+        LocalDateTime limit = s.plusDays(7);
+        List<Map<String, LocalDateTime>> slots = new ArrayList<>();
+        while (cursor.isBefore(limit) && slots.size() < 5) {
+            List<Booking> overlaps = bookingRepository.findOverlappingBookings(roomId, cursor, cursor.plus(duration));
+            if (overlaps.isEmpty()) {
+                Map<String, LocalDateTime> slot = new HashMap<>();
+                slot.put("start", cursor);
+                slot.put("end", cursor.plus(duration));
+                slots.add(slot);
+            }
+            cursor = cursor.plusMinutes(30);
+        }
+
+        // Find alternate rooms matching capacity
+        List<Room> alternates = roomRepository.findByCapacityGreaterThanEqual(capacity == null ? 1 : capacity);
+        List<Map<String, Object>> scoredAlts = new ArrayList<>();
+        // original requested room equipment set for similarity calculation
+        Room requestedRoom = roomRepository.findById(roomId).orElse(null);
+        Set<String> requestedEquipNames = new HashSet<>();
+        Map<String, String> reqMap = new HashMap<>();
+        if (requestedRoom != null && requestedRoom.getEquipment() != null) {
+            requestedRoom.getEquipment().forEach(eq -> {
+                requestedEquipNames.add(eq.getName());
+                reqMap.put(eq.getName(), eq.getType());
+            });
+        }
+
+        for (Room r : alternates) {
+            if (r.getId().equals(roomId)) continue;
+
+            // compute equipment similarity with equipment-type weights
+            Map<String, String> otherMap = new HashMap<>();
+            if (r.getEquipment() != null) {
+                r.getEquipment().forEach(eq -> otherMap.put(eq.getName(), eq.getType()));
+            }
+            double weightedInter = 0.0;
+            double weightedUnion = 0.0;
+            Set<String> unionSet = new HashSet<>();
+            unionSet.addAll(reqMap.keySet());
+            unionSet.addAll(otherMap.keySet());
+            for (String en : unionSet) {
+                String t1 = reqMap.get(en);
+                String t2 = otherMap.get(en);
+                double w1 = t1 == null ? 0.0 : TYPE_WEIGHTS.getOrDefault(t1.toUpperCase(), 0.5);
+                double w2 = t2 == null ? 0.0 : TYPE_WEIGHTS.getOrDefault(t2.toUpperCase(), 0.5);
+                weightedUnion += Math.max(w1, w2);
+                if (t1 != null && t2 != null) {
+                    weightedInter += Math.min(w1, w2);
+                }
+            }
+            double equipScore = weightedUnion > 0 ? (weightedInter / weightedUnion) : 0.0;
+
+            // capacity closeness score (1.0 is perfect match or slightly larger)
+            int reqCap = capacity == null ? 1 : capacity;
+            int capDiff = Math.abs(r.getCapacity() - reqCap);
+            double capScore = 1.0 / (1 + (double) capDiff / Math.max(1, reqCap));
+
+            // proximity: simple similarity by location substring overlap
+            double proximity = 0.0;
+            if (requestedRoom != null && requestedRoom.getLocation() != null && r.getLocation() != null) {
+                String a = requestedRoom.getLocation().toLowerCase();
+                String b = r.getLocation().toLowerCase();
+                if (a.equals(b)) proximity = 1.0;
+                else if (a.contains(b) || b.contains(a)) proximity = 0.8;
+                else {
+                    // common word overlap
+                    Set<String> sa = new HashSet<>(Arrays.asList(a.split(" ")));
+                    Set<String> sb = new HashSet<>(Arrays.asList(b.split(" ")));
+                    sa.retainAll(sb);
+                    proximity = sa.size() > 0 ? Math.min(0.7, 0.2 + 0.1 * sa.size()) : 0.0;
+                }
+            }
+
+            // historical approval rate for this room
+            double approvalRate = 0.5; // default neutral
+            try {
+                int approved = 0;
+                int total = 0;
+                for (Booking rb : bookingRepository.findByRoomId(r.getId())) {
+                    if (rb.getStatus() != null) {
+                        total++;
+                        if ("APPROVED".equals(rb.getStatus())) approved++;
+                    }
+                }
+                if (total > 0) approvalRate = ((double) approved) / total;
+            } catch (Exception ignore) {}
+
+            // find earliest slot for this room (first available within limit)
+            LocalDateTime c = s;
+            LocalDateTime found = null;
+            while (c.isBefore(limit)) {
+                List<Booking> ov = bookingRepository.findOverlappingBookings(r.getId(), c, c.plus(duration));
+                if (ov.isEmpty()) { found = c; break; }
+                c = c.plusMinutes(30);
+            }
+
+            double timeScore = found == null ? 0.0 : 1.0 / (1 + Duration.between(s, found).toHours());
+
+            // combined score: weighted sum (equip 45%, capacity 20%, proximity 15%, approval 10%, time 10%)
+            double combined = equipScore * 0.45 + capScore * 0.20 + proximity * 0.15 + approvalRate * 0.10 + timeScore * 0.10;
+
+            Map<String, Object> m = new HashMap<>();
+            m.put("room", r);
+            m.put("availableFrom", found);
+            m.put("requestedCapacity", reqCap);
+            m.put("requestedLocation", requestedRoom == null ? "" : requestedRoom.getLocation());
+            m.put("timeScore", timeScore);
+            m.put("score", combined);
+            // include requested context so frontend can sort and display matches
+            m.put("requestedAmenities", new ArrayList<>(requestedEquipNames));
+            scoredAlts.add(m);
+            if (scoredAlts.size() >= 50) break; // gather more and sort later
+        }
+
+        // sort alternatives by score desc and take top 5
+        scoredAlts.sort((a, b) -> Double.compare((Double) b.get("score"), (Double) a.get("score")));
+        List<Map<String, Object>> altList = scoredAlts.stream().limit(5).toList();
+
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("nextSlots", slots);
+        resp.put("alternateRooms", altList);
+        return resp;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.meeting.service;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.repository.NotificationRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts (delivered, not yet read) kept in memory so the inbox badge
+ * poll does not count rows on every request. A counter is loaded from the database on first use,
+ * adjusted in place on dispatch and mark-read, and re-read after {@code notifications.inbox.unread-ttl-seconds}
+ * to pick up changes made by other nodes or by the archival job.
+ */
+@Service
+public class UnreadCounterService {
+
+    private static final class Counter {
+        final AtomicLong value;
+        final long loadedAt;
+
+        Counter(long value, long loadedAt) {
+            this.value = new AtomicLong(value);
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final NotificationRepository notificationRepository;
+    private final NotificationProperties notificationProperties;
+
+    public UnreadCounterService(NotificationRepository notificationRepository,
+                                NotificationProperties notificationProperties) {
+        this.notificationRepository = notificationRepository;
+        this.notificationProperties = notificationProperties;
+    }
+
+    public long unread(Long userId) {
+        long now = System.currentTimeMillis();
+        long ttl = notificationProperties.getInbox().getUnreadTtlSeconds() * 1000L;
+        Counter c = counters.get(userId);
+        if (c == null || now - c.loadedAt > ttl) {
+            c = new Counter(notificationRepository.countByUserIdAndStatus(userId, NotificationStatus.SENT), now);
+            counters.put(userId, c);
+        }
+        return c.value.get();
+    }
+
+    /**
+     * Applies a change to a loaded counter; counters not loaded yet will read the database anyway.
+     */
+    public void adjust(Long userId, long delta) {
+        if (userId == null || delta == 0) return;
+        Counter c = counters.get(userId);
+        if (c != null) c.value.updateAndGet(v -> Math.max(0, v + delta));
+    }
+}
@@ -0,0 +1,22 @@
+-- Booking status as a SMALLINT code (see BookingStatusConverter; codes are list positions)
+ALTER TABLE bookings ADD COLUMN status_code SMALLINT;
+
+UPDATE bookings SET status_code = CASE status
+    WHEN 'NEW' THEN 0
+    WHEN 'PENDING' THEN 1
+    WHEN 'PENDING_APPROVAL' THEN 2
+    WHEN 'APPROVED' THEN 3
+    WHEN 'REJECTED' THEN 4
+    WHEN 'CANCELLED' THEN 5
+    WHEN 'CONFIRMED' THEN 6
+    WHEN 'COMPLETED' THEN 7
+    ELSE 1
+END;
+
+ALTER TABLE bookings DROP COLUMN status;
+ALTER TABLE bookings ALTER COLUMN status_code RENAME TO status;
+ALTER TABLE bookings ALTER COLUMN status SET NOT NULL;
+
+-- Half-open overlap check: range on start_time within a room, end_time and status read from the index
+CREATE INDEX idx_bookings_room_time_status ON bookings (room_id, start_time, end_time, status);
+CREATE INDEX idx_bookings_status_start ON bookings (status, start_time);
@@ -0,0 +1,14 @@
+-- Sequence ids for the high-volume tables so Hibernate can batch their inserts.
+-- Ids are handed out in blocks of 50 (pooled-lo): a sequence value v covers ids v .. v+49.
+CREATE SEQUENCE booking_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE booking_history_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE approval_log_seq START WITH 1 INCREMENT BY 50;
+
+-- continue above the ids already issued by AUTO_INCREMENT
+ALTER SEQUENCE booking_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings);
+ALTER SEQUENCE booking_history_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM booking_history);
+ALTER SEQUENCE approval_log_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM approval_log);
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE booking_history ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE approval_log ALTER COLUMN id DROP IDENTITY;
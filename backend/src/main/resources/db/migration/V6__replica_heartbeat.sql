@@ -0,0 +1,5 @@
+-- Written on the primary every replica.heartbeat-ms; its replicated copy gives the replica lag
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
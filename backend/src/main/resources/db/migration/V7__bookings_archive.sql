@@ -0,0 +1,39 @@
+-- Cold store for bookings that ended more than bookings.archive.retention-days ago.
+-- Rows keep their original ids; the hourly archival job moves them in chunks, one transaction each.
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT PRIMARY KEY,
+    room_id BIGINT,
+    user_id BIGINT,
+    start_time TIMESTAMP,
+    end_time TIMESTAMP,
+    status SMALLINT NOT NULL, -- BookingStatusConverter code, as in bookings
+    purpose VARCHAR(255),
+    attendees_count INT,
+    priority INT,
+    notes VARCHAR(1000),
+    decision_confidence DOUBLE,
+    decision_rationale VARCHAR(255),
+    change_seq BIGINT,
+    archived_at TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_room_start ON bookings_archive (room_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_user_start ON bookings_archive (user_id, start_time);
+
+CREATE TABLE IF NOT EXISTS bookings_archive_required_facilities (
+    booking_id BIGINT NOT NULL REFERENCES bookings_archive(id),
+    facility VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS booking_history_archive (
+    id BIGINT PRIMARY KEY,
+    booking_id BIGINT,
+    previous_status VARCHAR(255),
+    new_status VARCHAR(255),
+    changed_at TIMESTAMP,
+    changed_by VARCHAR(255),
+    reason VARCHAR(1000),
+    ai_confidence DOUBLE,
+    ai_rationale VARCHAR(1000),
+    archived_at TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_booking_history_archive_booking ON booking_history_archive (booking_id, changed_at);
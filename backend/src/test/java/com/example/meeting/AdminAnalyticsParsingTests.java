@@ -41,7 +41,7 @@ class AdminAnalyticsParsingTests {
         Mockito.when(llmClient.ask(Mockito.anyString())).thenReturn(aiJson);
         Mockito.when(aiRepo.save(Mockito.any(AiInsights.class))).thenAnswer(inv -> inv.getArgument(0));
 
-    Map<String,Object> resp = c.overview();
+    Map<String,Object> resp = c.overview().join().getBody();
     assertNotNull(resp.get("aiInsightsRaw"));
     assertNotNull(resp.get("aiInsights"));
     Mockito.verify(aiRepo, Mockito.times(1)).save(Mockito.any(AiInsights.class));
@@ -59,7 +59,7 @@ class AdminAnalyticsParsingTests {
         }
         Mockito.when(llmClient.isConfigured()).thenReturn(true);
         Mockito.when(llmClient.ask(Mockito.anyString())).thenReturn("Not a json");
-        Map<String,Object> resp = c.overview();
+        Map<String,Object> resp = c.overview().join().getBody();
         assertNotNull(resp.get("aiInsightsRaw"));
         assertTrue(resp.containsKey("aiInsightsParseError"));
     }
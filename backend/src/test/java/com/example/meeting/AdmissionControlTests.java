@@ -0,0 +1,117 @@
+package com.example.meeting;
+
+import com.example.meeting.resilience.AdaptiveConcurrencyLimiter;
+import com.example.meeting.resilience.AdmissionControlFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // limit 4 between 1 and 8, calls slower than 100 ms count as overload
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter("test", 4, 1, 8, 100, 0.5, registry, clock::get);
+    }
+
+    private void advance(long ms) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    @Test
+    void callsOverTheLimitAreRefusedAtOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AdaptiveConcurrencyLimiter.Permit[] permits = new AdaptiveConcurrencyLimiter.Permit[4];
+        for (int i = 0; i < 4; i++) permits[i] = limiter.tryAcquire();
+        assertNull(limiter.tryAcquire());
+        assertEquals(1.0, registry.get("concurrency.rejected").tag("name", "test").counter().count());
+
+        advance(10);
+        permits[0].release(true);
+        permits[0].release(true); // second release is ignored
+        assertEquals(3, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire());
+    }
+
+    @Test
+    void limitGrowsWhileFastAndShrinksWhenSlowOrFailing() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        // fast calls with the limit in use: additive increase up to the maximum
+        for (int round = 0; round < 10; round++) {
+            AdaptiveConcurrencyLimiter.Permit[] permits = new AdaptiveConcurrencyLimiter.Permit[limiter.getLimit()];
+            for (int i = 0; i < permits.length; i++) permits[i] = limiter.tryAcquire();
+            advance(10);
+            for (AdaptiveConcurrencyLimiter.Permit p : permits) p.release(true);
+        }
+        assertEquals(8, limiter.getLimit());
+
+        // a lone fast call does not grow an idle limit
+        AdaptiveConcurrencyLimiter small = limiter();
+        small.tryAcquire().release(true);
+        assertEquals(4, small.getLimit());
+
+        // slow call: multiplicative decrease
+        AdaptiveConcurrencyLimiter.Permit slow = limiter.tryAcquire();
+        advance(500);
+        slow.release(true);
+        assertEquals(4, limiter.getLimit());
+        limiter.tryAcquire().release(false);
+        assertEquals(2, limiter.getLimit());
+        for (int i = 0; i < 5; i++) limiter.tryAcquire().release(false);
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void filterShedsGuardedRequestsWith503() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter,
+                List.of("POST /api/bookings", "POST /api/bookings/*/analyze"));
+        for (int i = 0; i < 4; i++) limiter.tryAcquire();
+
+        MockHttpServletResponse create = new MockHttpServletResponse();
+        int[] calls = {0};
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings"), create, (req, res) -> calls[0]++);
+        assertEquals(503, create.getStatus());
+        assertEquals("1", create.getHeader("Retry-After"));
+
+        MockHttpServletResponse analyze = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings/7/analyze"), analyze, (req, res) -> calls[0]++);
+        assertEquals(503, analyze.getStatus());
+
+        // not guarded
+        MockHttpServletResponse list = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/bookings"), list, (req, res) -> calls[0]++);
+        assertEquals(200, list.getStatus());
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void timeWaitingOnTheLlmDoesNotCountAgainstTheRequestTarget() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, List.of("POST /api/bookings"));
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings"), new MockHttpServletResponse(), (req, res) -> {
+            advance(50);
+            advance(400);
+            AdmissionControlFilter.excludeFromLatency(TimeUnit.MILLISECONDS.toNanos(400));
+        });
+        assertEquals(4, limiter.getLimit());
+
+        // the request's own work still counts
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings"), new MockHttpServletResponse(),
+                (req, res) -> advance(450));
+        assertEquals(2, limiter.getLimit());
+
+        // outside a guarded request there is nothing to exclude from
+        AdmissionControlFilter.excludeFromLatency(1);
+    }
+}
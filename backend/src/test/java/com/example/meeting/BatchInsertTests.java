@@ -0,0 +1,123 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Notification;
+import com.example.meeting.repository.BookingHistoryRepository;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.NotificationRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JDBC round trips of multi-row writes. With sequence ids in blocks of 50 and a batch size of 50,
+ * N inserts take about N / 50 batches plus N / 50 sequence calls instead of N statements.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BatchInsertTests {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        bookingHistoryRepository.deleteAll();
+        bookingRepository.deleteAll();
+        notificationRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Notification notification(int i) {
+        Notification n = new Notification();
+        n.setUserId(7L);
+        n.setType("REMINDER");
+        n.setMethod("EMAIL");
+        n.setScheduledAt(LocalDateTime.now().plusMinutes(i));
+        n.setPayload("{}");
+        return n;
+    }
+
+    // inserts ROWS notifications in one transaction and returns the statements prepared for them
+    private long insertNotifications(Integer batchSize) {
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            if (batchSize != null) entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < ROWS; i++) entityManager.persist(notification(i));
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void notificationInsertsGoOutInBatches() {
+        long unbatched = insertNotifications(1);
+        long batched = insertNotifications(null);
+
+        assertTrue(unbatched >= ROWS, "one statement per row without batching: " + unbatched);
+        // ROWS / 50 batches + ROWS / 50 sequence calls (+1 when the first block straddles)
+        assertTrue(batched <= 2 * ROWS / 50 + 1, "batched inserts: " + batched);
+        assertEquals(2L * ROWS, notificationRepository.count());
+    }
+
+    @Test
+    void bookingsAndTheirFacilitiesAreBatchedBySaveAll() {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 6, 8, 0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Booking b = new Booking();
+            b.setRoomId(1L + i % 5);
+            b.setUserId(7L);
+            b.setStartTime(start.plusHours(i));
+            b.setEndTime(start.plusHours(i + 1));
+            b.setStatus("APPROVED");
+            b.setPurpose("Seed");
+            b.setAttendeesCount(2);
+            b.setPriority(3);
+            b.setRequiredFacilities(Set.of("catering", "projector"));
+            bookings.add(b);
+        }
+
+        statistics.clear();
+        bookingRepository.saveAll(bookings);
+
+        // 2 sequence calls, 2 booking batches, 4 facility batches (ordered inserts keep them grouped)
+        assertTrue(statistics.getPrepareStatementCount() <= 9, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(100, bookingRepository.count());
+    }
+}
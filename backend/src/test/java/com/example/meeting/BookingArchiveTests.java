@@ -0,0 +1,151 @@
+package com.example.meeting;
+
+import com.example.meeting.config.BookingArchiveProperties;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingArchive;
+import com.example.meeting.model.BookingHistory;
+import com.example.meeting.model.BookingTombstone;
+import com.example.meeting.model.RoomBookingStats;
+import com.example.meeting.repository.BookingArchiveRepository;
+import com.example.meeting.repository.BookingHistoryArchiveRepository;
+import com.example.meeting.repository.BookingHistoryRepository;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.BookingTombstoneRepository;
+import com.example.meeting.repository.ChangeCounterRepository;
+import com.example.meeting.service.BookingArchiveService;
+import com.example.meeting.service.BookingChangeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingArchiveTests {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Autowired
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Autowired
+    private BookingHistoryArchiveRepository historyArchiveRepository;
+
+    @Autowired
+    private BookingTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ChangeCounterRepository counterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookingArchiveService archiveService;
+
+    @BeforeEach
+    @AfterEach // other tests clear bookings without their history
+    void clear() {
+        bookingHistoryRepository.deleteAll();
+        bookingRepository.deleteAll();
+        historyArchiveRepository.deleteAll();
+        bookingArchiveRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void setUp() {
+        BookingArchiveProperties properties = new BookingArchiveProperties();
+        properties.setRetentionDays(90);
+        properties.setChunkSize(2);
+        archiveService = new BookingArchiveService(bookingRepository, bookingHistoryRepository,
+                bookingArchiveRepository, historyArchiveRepository,
+                new BookingChangeService(bookingRepository, tombstoneRepository, counterRepository),
+                properties, transactionManager);
+    }
+
+    private Booking booking(LocalDateTime start) {
+        Booking b = new Booking();
+        b.setRoomId(1L);
+        b.setUserId(7L);
+        b.setStartTime(start);
+        b.setEndTime(start.plusHours(1));
+        b.setStatus("APPROVED");
+        b.setPurpose("Review");
+        b.setAttendeesCount(4);
+        b.setPriority(3);
+        b.setRequiredFacilities(new java.util.HashSet<>(Set.of("projector")));
+        b = bookingRepository.save(b);
+        bookingHistoryRepository.save(new BookingHistory(b, "PENDING", "APPROVED", "admin", "ok", null, null));
+        return b;
+    }
+
+    @Test
+    void movesOldBookingsWithFacilitiesAndHistoryInChunks() {
+        LocalDateTime old = LocalDateTime.now().minusDays(200).withNano(0);
+        Booking first = booking(old);
+        booking(old.plusDays(1));
+        booking(old.plusDays(2));
+        Booking recent = booking(LocalDateTime.now().minusDays(3));
+
+        assertEquals(3, archiveService.archiveOldBookings());
+
+        assertEquals(List.of(recent.getId()), bookingRepository.findAll().stream().map(Booking::getId).toList());
+        assertEquals(1, bookingHistoryRepository.count());
+        // the booking path no longer sees archived rows
+        assertTrue(bookingRepository.findOverlappingBookings(1L, old, old.plusHours(1)).isEmpty());
+
+        BookingArchive archived = bookingArchiveRepository.findById(first.getId()).orElseThrow();
+        assertEquals("APPROVED", archived.getStatus());
+        assertEquals(old, archived.getStartTime());
+        assertNotNull(archived.getArchivedAt());
+        assertEquals(3, historyArchiveRepository.count());
+        assertEquals(0, archiveService.archiveOldBookings());
+
+        // delta-syncing clients see the archived bookings as deleted
+        Set<Long> archivedIds = bookingArchiveRepository.findAll().stream().map(BookingArchive::getId)
+                .collect(java.util.stream.Collectors.toSet());
+        assertEquals(archivedIds, tombstoneRepository.findAll().stream().map(BookingTombstone::getBookingId)
+                .collect(java.util.stream.Collectors.toSet()));
+        assertEquals(3, tombstoneRepository.findAll().stream().map(BookingTombstone::getChangeSeq).distinct().count());
+    }
+
+    @Test
+    void historyAndAnalyticsReadAcrossHotAndArchivedBookings() {
+        Booking old = booking(LocalDateTime.now().minusDays(200));
+        Booking recent = booking(LocalDateTime.now().minusDays(3));
+        archiveService.archiveOldBookings();
+
+        // the service is built by hand here, so its read-only transactions are opened explicitly
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<BookingHistory> history = tx.execute(s -> archiveService.getBookingHistory(old.getId()));
+        assertEquals(1, history.size());
+        assertEquals("APPROVED", history.get(0).getNewStatus());
+        assertEquals(old.getId(), history.get(0).getBooking().getId());
+        assertEquals(Set.of("projector"), history.get(0).getBooking().getRequiredFacilities());
+        assertEquals(1, archiveService.getBookingHistory(recent.getId()).size());
+        assertTrue(archiveService.getBookingHistory(-1L).isEmpty());
+
+        // both bookings count; only the recent one's hour falls in the last 30 days
+        List<RoomBookingStats> stats = bookingRepository.roomStatsIncludingArchived(LocalDateTime.now().minusDays(30));
+        assertEquals(1, stats.size());
+        assertEquals(1L, stats.get(0).getRoomId());
+        assertEquals(2, stats.get(0).getBookings());
+        assertEquals(4.0, stats.get(0).getAvgAttendees());
+        assertEquals(60, stats.get(0).getRecentMinutes());
+    }
+}
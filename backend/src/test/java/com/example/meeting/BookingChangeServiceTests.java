@@ -0,0 +1,118 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.BookingSummary;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.BookingTombstoneRepository;
+import com.example.meeting.repository.ChangeCounterRepository;
+import com.example.meeting.service.BookingChangeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingChangeServiceTests {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ChangeCounterRepository counterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookingChangeService changes;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+        counterRepository.deleteAll();
+        changes = new BookingChangeService(bookingRepository, tombstoneRepository, counterRepository);
+    }
+
+    private Booking booking(long userId) {
+        Booking b = new Booking();
+        b.setRoomId(1L);
+        b.setUserId(userId);
+        b.setStartTime(LocalDateTime.now().plusDays(1));
+        b.setEndTime(LocalDateTime.now().plusDays(1).plusHours(1));
+        b.setStatus("APPROVED");
+        b.setPurpose("Sprint review");
+        b.setAttendeesCount(4);
+        b.setPriority(3);
+        return bookingRepository.save(b);
+    }
+
+    private void inTransaction(Runnable r) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> r.run());
+    }
+
+    // the service is not proxied here, so its transaction is opened by hand
+    private Map<String, Object> sync(Long userId, long since, int limit) {
+        return new TransactionTemplate(transactionManager).execute(s -> changes.changesSince(userId, since, limit));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BookingSummary> changed(Map<String, Object> resp) {
+        return (List<BookingSummary>) resp.get("changes");
+    }
+
+    @Test
+    void clientCatchesUpPageByPageAndThenOnlyGetsDeltas() {
+        // written without a change sequence, like seed data
+        Booking b1 = booking(7);
+        Booking b2 = booking(7);
+        Booking b3 = booking(8);
+        assertEquals(0, changed(sync(null, 0, 100)).size());
+        assertEquals(Integer.valueOf(3), new TransactionTemplate(transactionManager).execute(s -> changes.backfill()));
+
+        Map<String, Object> first = sync(null, 0, 2);
+        assertEquals(2, changed(first).size());
+        assertEquals(true, first.get("hasMore"));
+        Map<String, Object> second = sync(null, (Long) first.get("cursor"), 2);
+        assertEquals(List.of(b3.getId()), changed(second).stream().map(BookingSummary::getId).toList());
+        assertEquals(false, second.get("hasMore"));
+        long cursor = (Long) second.get("cursor");
+
+        inTransaction(() -> changes.recordChange(b1.getId()));
+        bookingRepository.deleteById(b2.getId());
+        inTransaction(() -> changes.recordDeletion(b2.getId(), 7L));
+
+        Map<String, Object> delta = sync(null, cursor, 100);
+        assertEquals(List.of(b1.getId()), changed(delta).stream().map(BookingSummary::getId).toList());
+        assertEquals(List.of(b2.getId()), delta.get("deleted"));
+        assertEquals(0, changed(sync(null, (Long) delta.get("cursor"), 100)).size());
+
+        Map<String, Object> own = sync(8L, 0, 100);
+        assertEquals(List.of(b3.getId()), changed(own).stream().map(BookingSummary::getId).toList());
+        assertEquals(List.of(), own.get("deleted"));
+    }
+
+    @Test
+    void cursorAheadOfTheDatabaseAsksForAReset() {
+        Booking b = booking(7);
+        inTransaction(changes::backfill);
+
+        Map<String, Object> resp = sync(null, 1_000_000, 100);
+
+        assertEquals(true, resp.get("reset"));
+        assertEquals(List.of(b.getId()), changed(resp).stream().map(BookingSummary::getId).toList());
+    }
+}
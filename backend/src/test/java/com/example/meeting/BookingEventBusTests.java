@@ -0,0 +1,101 @@
+package com.example.meeting;
+
+import com.example.meeting.event.BookingCancelled;
+import com.example.meeting.event.BookingCreated;
+import com.example.meeting.event.BookingEvent;
+import com.example.meeting.event.BookingEventBus;
+import com.example.meeting.event.BookingEventListener;
+import com.example.meeting.event.BookingOutboxListener;
+import com.example.meeting.event.BookingStatusChanged;
+import com.example.meeting.model.Booking;
+import com.example.meeting.service.OutboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookingEventBusTests {
+
+    private static Booking booking(long id, String status) {
+        Booking b = new Booking();
+        b.setId(id);
+        b.setStatus(status);
+        return b;
+    }
+
+    @Test
+    void afterCommitListenersSeeEachBookingsEventsInOrder() throws Exception {
+        Map<Long, List<String>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(200);
+        BookingEventListener recorder = event -> {
+            seen.computeIfAbsent(event.getBookingId(), k -> Collections.synchronizedList(new ArrayList<>())).add(event.getStatus());
+            done.countDown();
+        };
+        BookingEventBus bus = new BookingEventBus(List.of(recorder), 4, 1000, Optional.empty());
+
+        for (int i = 0; i < 20; i++) {
+            for (long id = 1; id <= 10; id++) {
+                bus.publish(new BookingStatusChanged(booking(id, "S" + i), "S" + (i - 1), "test"));
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (long id = 1; id <= 10; id++) {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 20; i++) expected.add("S" + i);
+            assertEquals(expected, seen.get(id));
+        }
+        bus.shutdown();
+    }
+
+    @Test
+    void rolledBackChangeReachesOnlyInTransactionListeners() {
+        List<BookingEvent> async = Collections.synchronizedList(new ArrayList<>());
+        OutboxService outbox = mock(OutboxService.class);
+        BookingEventBus bus = new BookingEventBus(List.of(async::add, new BookingOutboxListener(outbox)), 1, 10, Optional.empty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(new BookingCreated(booking(1L, "APPROVED")));
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(outbox).bookingCreated(eq(1L), eq("APPROVED"), any());
+        assertTrue(async.isEmpty());
+        bus.shutdown();
+    }
+
+    @Test
+    void outboxListenerOnlyRecordsChangesThatAffectNotifications() {
+        OutboxService outbox = mock(OutboxService.class);
+        BookingOutboxListener listener = new BookingOutboxListener(outbox);
+
+        listener.onBookingEvent(new BookingStatusChanged(booking(1L, "APPROVED"), "PENDING", "admin"));
+        verifyNoInteractions(outbox);
+
+        listener.onBookingEvent(new BookingStatusChanged(booking(1L, "REJECTED"), "APPROVED", "admin"));
+        verify(outbox).bookingCancelled(1L);
+
+        listener.onBookingEvent(new BookingStatusChanged(booking(1L, "APPROVED"), "REJECTED", "admin"));
+        verify(outbox).bookingRescheduled(1L);
+
+        listener.onBookingEvent(new BookingCancelled(booking(2L, "CANCELLED"), "CANCELLED", false));
+        verify(outbox, never()).bookingCancelled(2L);
+    }
+}
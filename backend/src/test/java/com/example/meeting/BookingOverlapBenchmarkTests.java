@@ -0,0 +1,118 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.repository.BookingHistoryRepository;
+import com.example.meeting.repository.BookingRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Overlap detection at scale: the half-open query served by idx_bookings_room_time_status against the
+ * previous BETWEEN/OR form. Not part of the regular build; run with
+ * {@code mvn test -Pbenchmark} (row count via {@code -Dbenchmark.bookings=...}, default 1,000,000).
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingOverlapBenchmarkTests {
+
+    private static final String LEGACY_OVERLAP = "SELECT id FROM bookings WHERE room_id = ? AND status <> 5 " +
+            "AND ((start_time BETWEEN ? AND ?) OR (end_time BETWEEN ? AND ?) OR (start_time <= ? AND end_time >= ?))";
+
+    // what BookingRepository.findOverlapping runs, as plain SQL so both forms are timed the same way
+    private static final String HALF_OPEN_OVERLAP = "SELECT id FROM bookings WHERE room_id = ? " +
+            "AND start_time >= ? AND start_time < ? AND end_time > ? AND status NOT IN (4, 5)";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overlapQueriesAtOneMillionBookings() {
+        int rows = Integer.getInteger("benchmark.bookings", 1_000_000);
+        int rooms = 200;
+        LocalDateTime origin = LocalDateTime.of(2030, 1, 1, 8, 0);
+        bookingHistoryRepository.deleteAll();
+        bookingRepository.deleteAll();
+
+        long loadStart = System.nanoTime();
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            // one-hour meetings laid out per room, every other hour
+            LocalDateTime start = origin.plusHours(2L * (i / rooms));
+            batch.add(new Object[] {(long) (i % rooms) + 1, 7L, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    (short) (random.nextInt(10) == 0 ? 5 : 3), "Benchmark", 4, 3});
+            if (batch.size() == 10_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bookings (id, room_id, user_id, start_time, end_time, status, purpose, attendees_count, priority) " +
+                        "VALUES (NEXT VALUE FOR booking_seq, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        System.out.printf("loaded %,d bookings in %d ms%n", rows, (System.nanoTime() - loadStart) / 1_000_000);
+
+        int probes = 2_000;
+        long span = 2L * (rows / rooms);
+        List<Object[]> slots = new ArrayList<>();
+        for (int i = 0; i < probes; i++) {
+            slots.add(new Object[] {(long) random.nextInt(rooms) + 1, origin.plusHours(random.nextInt((int) span)).plusMinutes(30)});
+        }
+
+        long hits = 0;
+        long t0 = System.nanoTime();
+        for (Object[] s : slots) {
+            LocalDateTime start = (LocalDateTime) s[1];
+            hits += jdbcTemplate.queryForList(HALF_OPEN_OVERLAP, Long.class, s[0], Timestamp.valueOf(start.minus(Booking.MAX_DURATION)),
+                    Timestamp.valueOf(start.plusHours(1)), Timestamp.valueOf(start)).size();
+        }
+        long halfOpen = System.nanoTime() - t0;
+
+        long legacyHits = 0;
+        t0 = System.nanoTime();
+        for (Object[] s : slots) {
+            Timestamp start = Timestamp.valueOf((LocalDateTime) s[1]);
+            Timestamp end = Timestamp.valueOf(((LocalDateTime) s[1]).plusHours(1));
+            legacyHits += jdbcTemplate.queryForList(LEGACY_OVERLAP, Long.class, s[0], start, end, start, end, start, end).size();
+        }
+        long legacy = System.nanoTime() - t0;
+
+        // end to end through JPA, entity loading included
+        long repositoryHits = 0;
+        t0 = System.nanoTime();
+        for (Object[] s : slots) {
+            LocalDateTime start = (LocalDateTime) s[1];
+            repositoryHits += bookingRepository.findOverlappingBookings((Long) s[0], start, start.plusHours(1)).size();
+        }
+        long repository = System.nanoTime() - t0;
+
+        System.out.printf("half-open: %.3f ms/query, legacy BETWEEN/OR: %.3f ms/query, repository: %.3f ms/query (%d probes, %d hits)%n",
+                halfOpen / 1e6 / probes, legacy / 1e6 / probes, repository / 1e6 / probes, probes, hits);
+        System.out.println(String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + HALF_OPEN_OVERLAP.replace("?", "%s")
+                .formatted(1, "TIMESTAMP '2030-05-31 09:00:00'", "TIMESTAMP '2030-06-01 10:00:00'", "TIMESTAMP '2030-06-01 09:00:00'"), String.class)));
+
+        assertEquals(legacyHits, hits);
+        assertEquals(hits, repositoryHits);
+        // chunked: one statement over a million rows outgrows the in-memory database's undo log
+        while (jdbcTemplate.update("DELETE FROM bookings WHERE purpose = 'Benchmark' LIMIT 50000") > 0) {
+            // keep going
+        }
+    }
+}
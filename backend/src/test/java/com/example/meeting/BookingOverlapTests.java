@@ -0,0 +1,81 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.repository.BookingHistoryRepository;
+import com.example.meeting.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingOverlapTests {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime nine = LocalDateTime.of(2030, 5, 6, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        bookingHistoryRepository.deleteAll();
+        bookingRepository.deleteAll();
+    }
+
+    private Booking booking(long roomId, LocalDateTime start, LocalDateTime end, String status) {
+        Booking b = new Booking();
+        b.setRoomId(roomId);
+        b.setUserId(7L);
+        b.setStartTime(start);
+        b.setEndTime(end);
+        b.setStatus(status);
+        b.setPurpose("Standup");
+        b.setAttendeesCount(3);
+        b.setPriority(3);
+        return bookingRepository.save(b);
+    }
+
+    @Test
+    void overlapIsHalfOpenAndIgnoresInactiveBookings() {
+        Booking morning = booking(1, nine, nine.plusHours(1), "APPROVED");
+        booking(1, nine.plusMinutes(30), nine.plusHours(2), "CANCELLED");
+        booking(1, nine.plusMinutes(15), nine.plusMinutes(45), "REJECTED");
+        booking(2, nine, nine.plusHours(1), "PENDING");
+
+        // back-to-back on either side is not a conflict
+        assertTrue(bookingRepository.findOverlappingBookings(1L, nine.plusHours(1), nine.plusHours(2)).isEmpty());
+        assertTrue(bookingRepository.findOverlappingBookings(1L, nine.minusHours(1), nine).isEmpty());
+        assertEquals(List.of(morning.getId()),
+                bookingRepository.findOverlappingBookings(1L, nine.plusMinutes(59), nine.plusHours(3)).stream().map(Booking::getId).toList());
+        assertEquals(List.of(morning.getId()),
+                bookingRepository.findOverlappingBookings(1L, nine.plusMinutes(10), nine.plusMinutes(20)).stream().map(Booking::getId).toList());
+
+        assertEquals(java.util.Set.of(1L, 2L), new java.util.HashSet<>(bookingRepository.findBusyRoomIds(nine.plusMinutes(59), nine.plusHours(2))));
+        assertTrue(bookingRepository.findBusyRoomIds(nine.plusHours(1), nine.plusHours(2)).isEmpty());
+    }
+
+    @Test
+    void statusIsStoredAsACompactCode() {
+        Booking b = booking(1, nine, nine.plusHours(1), "PENDING_APPROVAL");
+
+        Number code = jdbcTemplate.queryForObject("SELECT status FROM bookings WHERE id = ?", Number.class, b.getId());
+        assertEquals(2, code.intValue());
+        assertEquals("PENDING_APPROVAL", bookingRepository.findById(b.getId()).orElseThrow().getStatus());
+        assertEquals(List.of(b.getId()), bookingRepository.findPendingBookings().stream().map(Booking::getId).toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.service.BookingExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingPagingTests {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+    }
+
+    private Booking booking(long roomId, long userId, LocalDateTime start, String status) {
+        Booking b = new Booking();
+        b.setRoomId(roomId);
+        b.setUserId(userId);
+        b.setStartTime(start);
+        b.setEndTime(start.plusHours(1));
+        b.setStatus(status);
+        b.setPurpose("Planning");
+        b.setAttendeesCount(2);
+        b.setPriority(3);
+        b.setRequiredFacilities(Set.of("projector"));
+        return bookingRepository.save(b);
+    }
+
+    @Test
+    void pagesWalkEveryMatchingBookingOnceInStartOrder() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // two bookings share each start time, so the id breaks ties
+            expected.add(booking(1, 7, base.plusHours(i / 2), "APPROVED").getId());
+        }
+        booking(2, 7, base, "APPROVED");
+        booking(1, 7, base, "CANCELLED");
+
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime afterStart = null;
+        Long afterId = null;
+        while (true) {
+            List<Booking> page = bookingRepository.findPage(1L, null, "APPROVED", base, base.plusDays(1),
+                    afterStart, afterId, PageRequest.of(0, 3));
+            page.forEach(b -> seen.add(b.getId()));
+            if (page.size() < 3) break;
+            afterStart = page.get(2).getStartTime();
+            afterId = page.get(2).getId();
+        }
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void exportWritesOneJsonLinePerBookingWithItsFacilities() throws Exception {
+        for (int i = 0; i < 3; i++) booking(1, 7, base.plusHours(i), "APPROVED");
+        booking(1, 8, base, "APPROVED");
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        BookingExportService export = new BookingExportService(bookingRepository, mapper, entityManager);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Long written = new TransactionTemplate(transactionManager)
+                .execute(s -> {
+                    try {
+                        return export.export(null, 7L, null, null, null, out);
+                    } catch (java.io.IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+        assertEquals(3, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals(7, first.get("userId").asLong());
+        assertEquals("projector", first.get("requiredFacilities").get(0).asText());
+    }
+}
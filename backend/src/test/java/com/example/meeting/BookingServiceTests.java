@@ -15,6 +15,10 @@ import com.example.meeting.repository.ApprovalLogRepository;
 import com.example.meeting.repository.BookingHistoryRepository;
 import com.example.meeting.service.BookingService;
 import com.example.meeting.service.AiDecisionService;
+import com.example.meeting.event.BookingCancelled;
+import com.example.meeting.event.BookingCreated;
+import com.example.meeting.event.BookingEventBus;
+import com.example.meeting.event.BookingRescheduled;
 
 import java.time.LocalDateTime;
 
@@ -35,6 +39,9 @@ class BookingServiceTests {
     @Mock
     private BookingHistoryRepository bookingHistoryRepository;
 
+    @Mock
+    private BookingEventBus bookingEventBus;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -63,6 +70,7 @@ class BookingServiceTests {
         assertNotNull(createdBooking);
         assertEquals(1L, createdBooking.getId());
         verify(bookingRepository, times(1)).save(booking);
+        verify(bookingEventBus, times(1)).publish(argThat(e -> e instanceof BookingCreated && e.getBookingId().equals(1L)));
     }
 
     @Test
@@ -82,9 +90,58 @@ class BookingServiceTests {
     @Test
     void testDeleteBooking() {
         Long bookingId = 1L;
+        Booking testBooking = new Booking();
+        testBooking.setId(bookingId);
+        testBooking.setRoomId(101L);
+        testBooking.setUserId(1L);
+        testBooking.setStatus("APPROVED");
+        when(bookingRepository.findById(bookingId)).thenReturn(java.util.Optional.of(testBooking));
 
         bookingService.deleteBooking(bookingId);
 
-        verify(bookingRepository, times(1)).deleteById(bookingId);
+        verify(bookingRepository, times(1)).delete(testBooking);
+        verify(bookingEventBus, times(1)).publish(argThat(e -> e instanceof BookingCancelled && ((BookingCancelled) e).isDeleted()
+                && testBooking.getRoomId().equals(e.getRoomId())));
+
+        // a missing booking is a 404 and publishes nothing
+        when(bookingRepository.findById(2L)).thenReturn(java.util.Optional.empty());
+        org.springframework.web.server.ResponseStatusException missing = assertThrows(
+                org.springframework.web.server.ResponseStatusException.class, () -> bookingService.deleteBooking(2L));
+        assertEquals(404, missing.getRawStatusCode());
+        verify(bookingEventBus, times(1)).publish(any());
+    }
+
+    @Test
+    void testCancelBookingPublishesCancellation() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus("APPROVED");
+        when(bookingRepository.findById(1L)).thenReturn(java.util.Optional.of(booking));
+
+        bookingService.cancelBooking(1L, "alice", "not needed");
+
+        verify(bookingEventBus, times(1)).publish(argThat(e -> e instanceof BookingCancelled
+                && "APPROVED".equals(((BookingCancelled) e).getPreviousStatus())));
+    }
+
+    @Test
+    void testMovedBookingPublishesReschedule() {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setRoomId(101L);
+        booking.setStatus("APPROVED");
+        booking.setStartTime(LocalDateTime.now().plusDays(1));
+        booking.setEndTime(LocalDateTime.now().plusDays(1).plusHours(1));
+        Booking moved = new Booking();
+        moved.setRoomId(101L);
+        moved.setStartTime(LocalDateTime.now().plusDays(2));
+        moved.setEndTime(LocalDateTime.now().plusDays(2).plusHours(1));
+        when(bookingRepository.findById(1L)).thenReturn(java.util.Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        bookingService.updateBooking(1L, moved);
+
+        verify(bookingEventBus, times(1)).publish(argThat(e -> e instanceof BookingRescheduled
+                && ((BookingRescheduled) e).getPreviousStartTime().isBefore(e.getStartTime())));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.example.meeting;
+
+import com.example.meeting.config.ExecutorConfig;
+import com.example.meeting.config.ExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorConfigTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void fullPoolRejectsAndReportsSaturation() throws InterruptedException {
+        ThreadPoolExecutor llm = ExecutorConfig.pool("llm", new ExecutorProperties.Pool(1, 1, 1, "abort"), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            llm.execute(() -> awaitQuietly(release));
+            llm.execute(() -> {});
+            assertThrows(RejectedExecutionException.class, () -> llm.execute(() -> {}));
+
+            assertEquals(1.0, registry.get("executor.rejected").tag("name", "llm").counter().count());
+            assertEquals(1.0, registry.get("executor.queued").tag("name", "llm").gauge().value());
+            assertEquals(0.0, registry.get("executor.queue.remaining").tag("name", "llm").gauge().value());
+        } finally {
+            release.countDown();
+            llm.shutdown();
+        }
+    }
+
+    @Test
+    void poolWithoutQueueRefusesAsSoonAsEveryThreadIsBusy() {
+        ThreadPoolExecutor llm = ExecutorConfig.pool("llm", new ExecutorProperties.Pool(1, 2, 0, "abort"), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            llm.execute(() -> awaitQuietly(release));
+            llm.execute(() -> awaitQuietly(release));
+            // supplyAsync hands the rejection straight to the submitter
+            assertThrows(RejectedExecutionException.class, () -> CompletableFuture.supplyAsync(() -> "x", llm));
+            assertEquals(0, llm.getQueue().size());
+        } finally {
+            release.countDown();
+            llm.shutdown();
+        }
+    }
+
+    @Test
+    void callerRunsPoolPushesBackOnTheSubmitter() {
+        ThreadPoolExecutor mail = ExecutorConfig.pool("mail", new ExecutorProperties.Pool(1, 1, 1, "caller-runs"), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        try {
+            mail.execute(() -> awaitQuietly(release));
+            mail.execute(() -> {});
+            mail.execute(() -> ranOn.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), ranOn.get());
+            assertEquals(1.0, registry.get("executor.rejected").tag("name", "mail").counter().count());
+        } finally {
+            release.countDown();
+            mail.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Equipment;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.EquipmentRepository;
+import com.example.meeting.repository.RoomRepository;
+import com.example.meeting.service.ReferenceDataCache;
+import com.example.meeting.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts of the list reads behind the list endpoints: they must not grow with the number of rows.
+ * Results are serialized outside any transaction, so a lazy association left behind fails the test too.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ListQueryCountTests {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long statements(Supplier<Object> read) throws Exception {
+        statistics.clear();
+        mapper.writeValueAsString(read.get());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // the room service reads in a transaction (it is not proxied here), like behind the endpoints
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(s -> work.get());
+    }
+
+    @Test
+    void bookingListTakesTheSameQueriesForOneOrManyRows() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Booking b = new Booking();
+            b.setRoomId(1L + i % 5);
+            b.setUserId(7L);
+            b.setStartTime(start.plusHours(i));
+            b.setEndTime(start.plusHours(i + 1));
+            b.setStatus("APPROVED");
+            b.setPurpose("Load test");
+            b.setAttendeesCount(2);
+            b.setPriority(3);
+            b.setRequiredFacilities(Set.of("catering", "projector"));
+            bookings.add(b);
+        }
+        bookingRepository.saveAll(bookings);
+
+        // list query + one facilities query
+        assertEquals(2, statements(() -> bookingRepository.toSummaries(bookingRepository.findByUserId(7L))));
+        assertEquals(2, statements(() -> bookingRepository.toSummaries(bookingRepository.findByRoomId(1L))));
+    }
+
+    @Test
+    void roomListsLoadEquipmentWithTheRooms() throws Exception {
+        Equipment projector = equipmentRepository.save(new Equipment("Projector", "PROJECTOR", "available"));
+        Equipment board = equipmentRepository.save(new Equipment("Whiteboard", "WHITEBOARD", "available"));
+        for (int i = 0; i < 30; i++) {
+            Room r = new Room("Room " + i, "Floor " + (i % 3), 4 + i, "available");
+            r.setEquipment(new HashSet<>(i % 2 == 0 ? Set.of(projector, board) : Set.of(board)));
+            roomRepository.save(r);
+        }
+        RoomService rooms = new RoomService(roomRepository, equipmentRepository, null, bookingRepository,
+                new ReferenceDataCache(entityManagerFactory));
+
+        assertEquals(1, statements(() -> inTransaction(() -> rooms.findRooms(null, null, List.of("PROJECTOR")))));
+        assertEquals(15, inTransaction(() -> rooms.findRooms(null, null, List.of("PROJECTOR"))).size());
+        // busy rooms only: the room list comes from the query cache
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        assertEquals(1, statements(() -> inTransaction(() -> rooms.findAvailableRooms(start, start.plusHours(1), "Floor 1"))));
+
+        roomRepository.deleteAll();
+        equipmentRepository.deleteAll();
+    }
+}
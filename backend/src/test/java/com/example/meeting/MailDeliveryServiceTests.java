@@ -0,0 +1,123 @@
+package com.example.meeting;
+
+import com.example.meeting.config.ExecutorConfig;
+import com.example.meeting.config.ExecutorProperties;
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.service.MailDeliveryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailDeliveryServiceTests {
+
+    private final JavaMailSender mailSender = Mockito.mock(JavaMailSender.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private MailDeliveryService service(int batchSize) {
+        NotificationProperties props = new NotificationProperties();
+        props.getDelivery().setBatchSize(batchSize);
+        return new MailDeliveryService(props, Optional.of(mailSender), Optional.of(registry),
+                ExecutorConfig.pool("mail", new ExecutorProperties.Pool(4, 4, 100, "caller-runs"), registry));
+    }
+
+    private SimpleMailMessage msg(String to) {
+        SimpleMailMessage m = new SimpleMailMessage();
+        m.setTo(to);
+        m.setSubject("s");
+        m.setText("t");
+        return m;
+    }
+
+    @Test
+    void sendsOneSessionPerDomainChunk() {
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) messages.add(msg("user" + i + "@a.local"));
+        messages.add(msg("ops@b.local"));
+
+        List<Integer> sessions = Collections.synchronizedList(new ArrayList<>());
+        Mockito.doAnswer(inv -> sessions.add(inv.getArguments().length))
+                .when(mailSender).send(Mockito.<SimpleMailMessage[]>any());
+
+        Map<SimpleMailMessage, Exception> failures = service(3).deliver(messages);
+
+        assertTrue(failures.isEmpty());
+        // a.local: chunks of 3 + 2, b.local: 1
+        assertEquals(3, sessions.size());
+        assertEquals(6, sessions.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(6.0, registry.counter("notifications.mail.messages", "outcome", "sent").count());
+    }
+
+    @Test
+    void mapsPartialAndConnectionFailuresBackToMessages() {
+        SimpleMailMessage ok = msg("ok@a.local");
+        SimpleMailMessage bad = msg("bad@a.local");
+        SimpleMailMessage down = msg("x@down.local");
+        Mockito.doAnswer(inv -> {
+            Object[] arr = inv.getArguments();
+            for (Object o : arr) {
+                if (o == bad) throw new MailSendException(Map.of(bad, new RuntimeException("550")));
+                if (o == down) throw new MailSendException("connection refused");
+            }
+            return null;
+        }).when(mailSender).send(Mockito.<SimpleMailMessage[]>any());
+
+        Map<SimpleMailMessage, Exception> failures = service(10).deliver(List.of(ok, bad, down));
+
+        assertFalse(failures.containsKey(ok));
+        assertTrue(failures.containsKey(bad));
+        assertTrue(failures.containsKey(down));
+    }
+
+    @Test
+    void aSlowDomainHoldsAtMostItsLanesAndOthersStillGoOut() throws Exception {
+        SimpleMailMessage fast = msg("ops@fast.local");
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 6; i++) messages.add(msg("user" + i + "@slow.local"));
+        messages.add(fast);
+
+        CountDownLatch fastSent = new CountDownLatch(1);
+        CountDownLatch slowLanesBusy = new CountDownLatch(2);
+        AtomicInteger slowInFlight = new AtomicInteger();
+        AtomicInteger slowPeak = new AtomicInteger();
+        AtomicInteger stalledOut = new AtomicInteger();
+        Mockito.doAnswer(inv -> {
+            SimpleMailMessage first = (SimpleMailMessage) inv.getArguments()[0];
+            if (first == fast) {
+                // let both slow lanes reach the relay first, so the peak below is not a race
+                slowLanesBusy.await(5, TimeUnit.SECONDS);
+                fastSent.countDown();
+                return null;
+            }
+            slowPeak.accumulateAndGet(slowInFlight.incrementAndGet(), Math::max);
+            slowLanesBusy.countDown();
+            // the relay stalls until the other domain got through
+            if (!fastSent.await(5, TimeUnit.SECONDS)) stalledOut.incrementAndGet();
+            slowInFlight.decrementAndGet();
+            return null;
+        }).when(mailSender).send(Mockito.<SimpleMailMessage[]>any());
+
+        Map<SimpleMailMessage, Exception> failures = service(1).deliver(messages);
+
+        assertTrue(failures.isEmpty());
+        // fast.local was not stuck behind the stalled relay
+        assertEquals(0, stalledOut.get());
+        // perDomainConcurrency defaults to 2 of the 4 workers
+        assertEquals(2, slowPeak.get());
+        assertTrue(registry.find("notifications.mail.send").timers().stream()
+                .noneMatch(t -> t.getId().getTag("domain") != null));
+    }
+}
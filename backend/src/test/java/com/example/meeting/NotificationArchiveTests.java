@@ -0,0 +1,70 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationArchive;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.repository.NotificationArchiveRepository;
+import com.example.meeting.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationArchiveTests {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationArchiveRepository notificationArchiveRepository;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        notificationArchiveRepository.deleteAll();
+    }
+
+    private Notification row(NotificationStatus status, LocalDateTime when) {
+        Notification n = new Notification();
+        n.setUserId(7L);
+        n.setType("REMINDER");
+        n.setMethod("IN_APP");
+        n.setScheduledAt(when);
+        n.setPayload("{\"body\":\"x\"}");
+        n.setStatus(status);
+        return notificationRepository.save(n);
+    }
+
+    @Test
+    void movesOnlyFinishedRowsPastRetentionInChunks() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        Notification sent = row(NotificationStatus.SENT, old);
+        row(NotificationStatus.READ, old.plusHours(1));
+        row(NotificationStatus.CANCELLED, old.plusHours(2));
+        Notification dead = row(NotificationStatus.DEAD, old);
+        Notification pending = row(NotificationStatus.PENDING, old);
+        Notification recent = row(NotificationStatus.SENT, LocalDateTime.now().minusDays(1));
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+
+        assertEquals(2, notificationRepository.archiveChunk(cutoff, 2));
+        assertEquals(1, notificationRepository.archiveChunk(cutoff, 2));
+        assertEquals(0, notificationRepository.archiveChunk(cutoff, 2));
+
+        List<Long> hot = notificationRepository.findAll().stream().map(Notification::getId).sorted().toList();
+        assertEquals(List.of(dead.getId(), pending.getId(), recent.getId()), hot);
+        NotificationArchive archived = notificationArchiveRepository.findById(sent.getId()).orElseThrow();
+        assertEquals(NotificationStatus.SENT, archived.getStatus());
+        assertEquals("{\"body\":\"x\"}", archived.getPayload());
+        assertNotNull(archived.getArchivedAt());
+        assertEquals(3, notificationArchiveRepository.findByUserIdOrderByScheduledAtDesc(7L).size());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationClaimTests {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private Notification pending(LocalDateTime when) {
+        Notification n = new Notification();
+        n.setType("REMINDER");
+        n.setMethod("IN_APP");
+        n.setScheduledAt(when);
+        n.setPayload("{}");
+        return notificationRepository.save(n);
+    }
+
+    @Test
+    void nodesClaimDisjointPagesInScheduleOrder() {
+        notificationRepository.deleteAll();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 5; i >= 1; i--) pending(now.minusMinutes(i));
+        pending(now.plusHours(1)); // not yet due
+
+        assertEquals(3, notificationRepository.claimDue("a", now, now, now.minusMinutes(5), 3));
+        assertEquals(2, notificationRepository.claimDue("b", now, now, now.minusMinutes(5), 3));
+        assertEquals(0, notificationRepository.claimDue("c", now, now, now.minusMinutes(5), 3));
+
+        List<Notification> a = notificationRepository.findByStatusAndClaimedByAndClaimedAtOrderByScheduledAtAsc(NotificationStatus.CLAIMED, "a", now);
+        List<Notification> b = notificationRepository.findByStatusAndClaimedByAndClaimedAtOrderByScheduledAtAsc(NotificationStatus.CLAIMED, "b", now);
+        assertEquals(3, a.size());
+        assertEquals(2, b.size());
+        assertTrue(a.get(2).getScheduledAt().isBefore(b.get(0).getScheduledAt()));
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedAndStaleOwnerCannotComplete() {
+        notificationRepository.deleteAll();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        pending(now.minusMinutes(1));
+        LocalDateTime earlier = now.minusMinutes(10);
+        assertEquals(1, notificationRepository.claimDue("crashed", earlier, now, earlier.minusMinutes(5), 10));
+
+        // lease of "crashed" (claimed 10 minutes ago) is older than the 5 minute cut-off
+        assertEquals(1, notificationRepository.claimDue("survivor", now, now, now.minusMinutes(5), 10));
+
+        Notification stale = notificationRepository.findAll().get(0);
+        stale.setStatus(NotificationStatus.SENT);
+        stale.setSentAt(now);
+        assertEquals(0, notificationRepository.completeClaimed(List.of(stale), "crashed")[0]);
+        assertEquals(1, notificationRepository.completeClaimed(List.of(stale), "survivor")[0]);
+        assertEquals(NotificationStatus.SENT, notificationRepository.findById(stale.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void companionsWithinWindowJoinTheClaim() {
+        notificationRepository.deleteAll();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Notification due = pending(now.minusMinutes(1));
+        Notification soon = pending(now.plusMinutes(10));
+        Notification later = pending(now.plusMinutes(40));
+        for (Notification n : List.of(due, soon, later)) n.setUserId(7L);
+        notificationRepository.saveAll(List.of(due, soon, later));
+
+        assertEquals(1, notificationRepository.claimDue("a", now, now, now.minusMinutes(5), 10));
+        assertEquals(0, notificationRepository.claimUserCompanions("a", now, 7L, "EMAIL", now.plusMinutes(15)));
+        assertEquals(1, notificationRepository.claimUserCompanions("a", now, 7L, "IN_APP", now.plusMinutes(15)));
+
+        List<Notification> page = notificationRepository.findByStatusAndClaimedByAndClaimedAtOrderByScheduledAtAsc(NotificationStatus.CLAIMED, "a", now);
+        assertEquals(List.of(due.getId(), soon.getId()), page.stream().map(Notification::getId).toList());
+        assertEquals(NotificationStatus.PENDING, notificationRepository.findById(later.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void retryIsClaimedOnlyAfterBackoffAndDeadLettersCanBeRedriven() {
+        notificationRepository.deleteAll();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Notification retry = pending(now.minusMinutes(5));
+        retry.setAttempts(1);
+        retry.setNextAttemptAt(now.plusMinutes(1));
+        Notification dead = pending(now.minusMinutes(5));
+        dead.setStatus(NotificationStatus.DEAD);
+        dead.setAttempts(5);
+        notificationRepository.saveAll(List.of(retry, dead));
+
+        assertEquals(0, notificationRepository.claimDue("a", now, now, now.minusMinutes(5), 10));
+        assertEquals(1, notificationRepository.claimDue("a", now.plusMinutes(1), now.plusMinutes(1), now.minusMinutes(5), 10));
+
+        assertEquals(1, notificationRepository.redriveDeadOfType("REMINDER"));
+        Notification redriven = notificationRepository.findById(dead.getId()).orElseThrow();
+        assertEquals(NotificationStatus.PENDING, redriven.getStatus());
+        assertEquals(0, redriven.getAttempts());
+        assertEquals(0, notificationRepository.redriveAllDead());
+    }
+}
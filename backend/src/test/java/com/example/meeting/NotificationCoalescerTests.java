@@ -0,0 +1,72 @@
+package com.example.meeting;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Notification;
+import com.example.meeting.service.NotificationCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationCoalescerTests {
+
+    private final NotificationProperties props = new NotificationProperties();
+    private final NotificationCoalescer coalescer = new NotificationCoalescer(props, new ObjectMapper());
+
+    private Notification notification(Long userId, String type, String method, String payload) {
+        Notification n = new Notification();
+        n.setUserId(userId);
+        n.setType(type);
+        n.setMethod(method);
+        n.setPayload(payload);
+        return n;
+    }
+
+    @Test
+    void groupsByUserAndChannelAndFacilitiesByMailbox() {
+        Notification r1 = notification(7L, "REMINDER", "IN_APP", "{\"body\":\"a\"}");
+        Notification r2 = notification(7L, "REMINDER", "IN_APP", "{\"body\":\"b\"}");
+        Notification other = notification(8L, "REMINDER", "IN_APP", "{\"body\":\"c\"}");
+        Notification f1 = notification(null, "FACILITIES", "EMAIL", "{\"to\":\"facilities@company.local\",\"body\":\"Needs: AV setup\"}");
+        Notification f2 = notification(null, "FACILITIES", "EMAIL", "{\"to\":\"facilities@company.local\",\"body\":\"Needs: Catering\"}");
+        Notification it = notification(null, "FACILITIES", "EMAIL", "{\"to\":\"it-support@company.local\",\"body\":\"Needs: AV setup\"}");
+
+        List<List<Notification>> groups = coalescer.group(List.of(r1, f1, other, r2, it, f2));
+
+        assertEquals(List.of(List.of(r1, r2), List.of(f1, f2), List.of(other), List.of(it)), groups);
+
+        SimpleMailMessage digest = coalescer.email(List.of(f1, f2));
+        assertArrayEquals(new String[] {"facilities@company.local"}, digest.getTo());
+        assertTrue(digest.getSubject().contains("2 upcoming meetings"));
+        assertTrue(digest.getText().contains("Needs: AV setup") && digest.getText().contains("Needs: Catering"));
+
+        assertNull(coalescer.email(List.of(r1, r2)));
+        Map<?, ?> push = (Map<?, ?>) coalescer.message(List.of(r1, r2));
+        assertEquals("DIGEST", push.get("type"));
+        assertEquals(2, push.get("count"));
+        assertSame(other, coalescer.message(List.of(other)));
+    }
+
+    @Test
+    void singleNotificationKeepsItsOwnEmail() {
+        Notification n = notification(7L, "REMINDER", "EMAIL", "{\"to\":\"alice@company.local\",\"subject\":\"Soon\",\"body\":\"x\"}");
+
+        SimpleMailMessage msg = coalescer.email(List.of(n));
+
+        assertEquals("Soon", msg.getSubject());
+        assertEquals("x", msg.getText());
+    }
+
+    @Test
+    void disabledCoalescingKeepsEveryNotificationApart() {
+        props.getCoalesce().setEnabled(false);
+        Notification r1 = notification(7L, "REMINDER", "IN_APP", "{}");
+        Notification r2 = notification(7L, "REMINDER", "IN_APP", "{}");
+
+        assertEquals(2, coalescer.group(List.of(r1, r2)).size());
+    }
+}
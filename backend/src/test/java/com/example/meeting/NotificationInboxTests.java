@@ -0,0 +1,93 @@
+package com.example.meeting;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.repository.NotificationRepository;
+import com.example.meeting.service.UnreadCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationInboxTests {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+    }
+
+    private Notification row(Long userId, LocalDateTime when, NotificationStatus status) {
+        Notification n = new Notification();
+        n.setUserId(userId);
+        n.setType("REMINDER");
+        n.setMethod("IN_APP");
+        n.setScheduledAt(when);
+        n.setStatus(status);
+        return notificationRepository.save(n);
+    }
+
+    @Test
+    void keysetPagesWalkTheInboxWithoutGapsOrDuplicates() {
+        LocalDateTime t = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Long> expected = new ArrayList<>();
+        // two rows per timestamp so the id tie-breaker is exercised
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, row(7L, t.plusMinutes(i), NotificationStatus.SENT).getId());
+            expected.add(0, row(7L, t.plusMinutes(i), NotificationStatus.SENT).getId());
+        }
+        row(8L, t, NotificationStatus.SENT);
+
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime beforeAt = null;
+        Long beforeId = null;
+        while (true) {
+            List<Notification> page = notificationRepository.findInboxPage(7L, beforeAt, beforeId, PageRequest.of(0, 3));
+            page.forEach(n -> seen.add(n.getId()));
+            if (page.size() < 3) break;
+            beforeAt = page.get(2).getScheduledAt();
+            beforeId = page.get(2).getId();
+        }
+        assertEquals(expected, seen);
+        assertEquals(11, notificationRepository.findInboxPage(null, null, null, PageRequest.of(0, 50)).size());
+    }
+
+    @Test
+    void unreadCounterFollowsDispatchAndMarkRead() {
+        LocalDateTime t = LocalDateTime.now();
+        Notification a = row(7L, t, NotificationStatus.SENT);
+        row(7L, t, NotificationStatus.SENT);
+        Notification pending = row(7L, t, NotificationStatus.PENDING);
+        UnreadCounterService counters = new UnreadCounterService(notificationRepository, new NotificationProperties());
+
+        assertEquals(2, counters.unread(7L));
+        // dispatch delivers the pending one
+        pending.setStatus(NotificationStatus.SENT);
+        notificationRepository.save(pending);
+        counters.adjust(7L, 1);
+        assertEquals(3, counters.unread(7L));
+
+        int updated = notificationRepository.markRead(7L, List.of(a.getId()));
+        counters.adjust(7L, -updated);
+        assertEquals(2, counters.unread(7L));
+
+        counters.adjust(7L, -notificationRepository.markAllRead(7L));
+        assertEquals(0, counters.unread(7L));
+        assertEquals(0, notificationRepository.countByUserIdAndStatus(7L, NotificationStatus.SENT));
+    }
+}
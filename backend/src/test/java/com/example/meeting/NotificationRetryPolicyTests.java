@@ -0,0 +1,83 @@
+package com.example.meeting;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.service.NotificationRetryPolicy;
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.InternetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRetryPolicyTests {
+
+    private final NotificationProperties props = new NotificationProperties();
+    private final NotificationRetryPolicy policy = new NotificationRetryPolicy(props);
+
+    @Test
+    void backoffDoublesWithJitterAndIsCapped() {
+        props.getRetry().setInitialDelaySeconds(30);
+        props.getRetry().setMaxDelaySeconds(100);
+        for (int i = 0; i < 50; i++) {
+            long first = policy.backoffMillis(1);
+            long second = policy.backoffMillis(2);
+            long capped = policy.backoffMillis(10);
+            assertTrue(first >= 15_000 && first <= 30_000, "first " + first);
+            assertTrue(second >= 30_000 && second <= 60_000, "second " + second);
+            assertTrue(capped >= 50_000 && capped <= 100_000, "capped " + capped);
+        }
+    }
+
+    @Test
+    void failedRowIsRescheduledUntilAttemptsAreExhausted() {
+        props.getRetry().setMaxAttempts(2);
+        LocalDateTime now = LocalDateTime.now();
+        Notification n = new Notification();
+
+        policy.recordFailure(n, new IllegalStateException("421 try later"), true, now);
+        assertEquals(NotificationStatus.PENDING, n.getStatus());
+        assertEquals(1, n.getAttempts());
+        assertTrue(Duration.between(now, n.getNextAttemptAt()).getSeconds() >= 15);
+        assertEquals("IllegalStateException: 421 try later", n.getLastError());
+
+        policy.recordFailure(n, new IllegalStateException("421 try later"), true, now);
+        assertEquals(NotificationStatus.DEAD, n.getStatus());
+        assertNull(n.getNextAttemptAt());
+    }
+
+    @Test
+    void nonRetryableFailureGoesStraightToDead() {
+        Notification n = new Notification();
+        policy.recordFailure(n, new IllegalArgumentException("bad payload"), false, LocalDateTime.now());
+        assertEquals(NotificationStatus.DEAD, n.getStatus());
+        assertEquals(1, n.getAttempts());
+    }
+
+    @Test
+    void classifiesPermanentRejectionsAndConnectionFailures() throws Exception {
+        InternetAddress to = new InternetAddress("x@a.local");
+        Exception unknownUser = new MessagingException("Invalid Addresses",
+                new SMTPAddressFailedException(to, "RCPT TO", 550, "550 5.1.1 User unknown"));
+        Exception mailboxFull = new SMTPAddressFailedException(to, "RCPT TO", 452, "452 4.2.2 Mailbox full");
+        Exception refused = new MessagingException("Mail server connection failed", new java.net.ConnectException("refused"));
+        Exception noSession = new MailSendException("connection refused");
+
+        assertTrue(policy.isPermanent(unknownUser));
+        assertTrue(policy.isPermanent(new RuntimeException("554 rejected")));
+        assertFalse(policy.isPermanent(mailboxFull));
+        assertFalse(policy.isPermanent(refused));
+        assertFalse(policy.isPermanent(noSession));
+
+        assertTrue(policy.isConnectionFailure(refused));
+        assertTrue(policy.isConnectionFailure(noSession));
+        assertTrue(policy.isConnectionFailure(new RuntimeException("421 service not available")));
+        assertFalse(policy.isConnectionFailure(unknownUser));
+        assertFalse(policy.isConnectionFailure(mailboxFull));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.meeting;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.OutboxEvent;
+import com.example.meeting.repository.BookingHistoryRepository;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.NotificationRepository;
+import com.example.meeting.repository.OutboxEventRepository;
+import com.example.meeting.repository.RoomRepository;
+import com.example.meeting.service.BookingSideEffects;
+import com.example.meeting.service.OutboxRelay;
+import com.example.meeting.service.OutboxService;
+import com.example.meeting.service.ReminderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTests {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxService outboxService;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        notificationRepository.deleteAll();
+        bookingHistoryRepository.deleteAll();
+        bookingRepository.deleteAll();
+        NotificationProperties props = new NotificationProperties();
+        props.setDefaultOffsetsMinutes(List.of(30, 60));
+        ObjectMapper mapper = new ObjectMapper();
+        ReminderService reminders = new ReminderService(notificationRepository, bookingRepository, roomRepository, props, mapper);
+        BookingSideEffects effects = new BookingSideEffects(bookingRepository, bookingHistoryRepository, roomRepository,
+                notificationRepository, reminders, props, mapper);
+        outboxService = new OutboxService(outboxEventRepository, mapper);
+        relay = new OutboxRelay(outboxEventRepository, effects, transactionManager, 10, 60, 3, "test-node");
+    }
+
+    private Booking booking() {
+        Booking b = new Booking();
+        b.setRoomId(999L);
+        b.setUserId(7L);
+        b.setStartTime(LocalDateTime.now().plusDays(1));
+        b.setEndTime(LocalDateTime.now().plusDays(1).plusHours(1));
+        b.setStatus("APPROVED");
+        b.setPurpose("Quarterly planning");
+        b.setAttendeesCount(4);
+        b.setPriority(3);
+        b.setRequiredFacilities(Set.of("catering"));
+        return bookingRepository.save(b);
+    }
+
+    private void record(Runnable r) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> r.run());
+    }
+
+    @Test
+    void redeliveredCreationEventHasNoDuplicateSideEffects() {
+        Booking b = booking();
+        record(() -> outboxService.bookingCreated(b.getId(), b.getStatus(), LocalDateTime.now()));
+        record(() -> outboxService.bookingCreated(b.getId(), b.getStatus(), LocalDateTime.now())); // e.g. relay crashed after commit, before ack
+
+        assertEquals(2, relay.relayPending());
+
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(1, bookingHistoryRepository.findByBookingId(b.getId()).size());
+        // 2 reminders + 2 facilities mailboxes
+        assertEquals(4, notificationRepository.count());
+    }
+
+    @Test
+    void cancellationAfterCreationLeavesNothingPending() {
+        Booking b = booking();
+        record(() -> outboxService.bookingCreated(b.getId(), b.getStatus(), LocalDateTime.now()));
+        b.setStatus("CANCELLED");
+        bookingRepository.save(b);
+        record(() -> outboxService.bookingCancelled(b.getId()));
+
+        relay.relayPending();
+
+        assertTrue(notificationRepository.findAll().stream()
+                .noneMatch(n -> n.getStatus() == com.example.meeting.model.NotificationStatus.PENDING));
+    }
+
+    @Test
+    void failingEventIsRetriedLaterAndParkedAsDead() {
+        record(() -> outboxService.record(OutboxService.BOOKING, 1L, "UNKNOWN", null));
+
+        assertEquals(0, relay.relayPending());
+        OutboxEvent e = outboxEventRepository.findAll().get(0);
+        assertEquals("PENDING", e.getStatus());
+        assertEquals(1, e.getAttempts());
+        assertTrue(e.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, relay.relayPending()); // backoff not elapsed: not claimed again
+
+        e.setAttempts(2);
+        e.setNextAttemptAt(null);
+        outboxEventRepository.save(e);
+        relay.relayPending();
+        assertEquals("DEAD", outboxEventRepository.findAll().get(0).getStatus());
+    }
+}
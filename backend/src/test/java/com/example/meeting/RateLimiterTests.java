@@ -0,0 +1,107 @@
+package com.example.meeting;
+
+import com.example.meeting.config.RateLimitProperties;
+import com.example.meeting.resilience.RateLimitFilter;
+import com.example.meeting.resilience.RateLimiter;
+import com.example.meeting.resilience.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private RateLimiter limiter(long idleEvictSeconds) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleEvictSeconds(idleEvictSeconds);
+        // refill slow enough not to matter while the test runs
+        properties.setRules(List.of(
+                new RateLimitProperties.Rule("suggest", "GET", "/api/bookings/suggest", 10, 0.001, 5),
+                new RateLimitProperties.Rule("api", null, "/api/**", 3, 0.001, 1)));
+        return new RateLimiter(properties, Optional.of(registry));
+    }
+
+    @Test
+    void bucketRefillsOverTimeAndReportsTheWait() {
+        long t0 = 0;
+        TokenBucket bucket = new TokenBucket(2, 1, t0);
+        assertEquals(0, bucket.tryConsume(1, t0));
+        assertEquals(0, bucket.tryConsume(1, t0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.tryConsume(1, t0 + TimeUnit.MILLISECONDS.toNanos(500)));
+        assertEquals(0, bucket.tryConsume(1, t0 + TimeUnit.SECONDS.toNanos(1)));
+        // never above capacity, however long it was idle
+        long later = t0 + TimeUnit.HOURS.toNanos(1);
+        assertEquals(0, bucket.tryConsume(2, later));
+        assertTrue(bucket.tryConsume(1, later) > 0);
+    }
+
+    @Test
+    void requestsAreChargedPerClientAndRuleByCost() {
+        RateLimiter limiter = limiter(600);
+        // suggest costs 5 of 10
+        assertEquals(0, limiter.tryAcquire("user:alice", "GET", "/api/bookings/suggest"));
+        assertEquals(0, limiter.tryAcquire("user:alice", "GET", "/api/bookings/suggest"));
+        assertTrue(limiter.tryAcquire("user:alice", "GET", "/api/bookings/suggest") > 0);
+
+        // other endpoints and other users have buckets of their own
+        assertEquals(0, limiter.tryAcquire("user:alice", "GET", "/api/rooms"));
+        assertEquals(0, limiter.tryAcquire("user:bob", "GET", "/api/bookings/suggest"));
+        // not an API path
+        assertEquals(0, limiter.tryAcquire("user:alice", "GET", "/actuator/health"));
+
+        assertEquals(1.0, registry.get("ratelimit.limited").tag("rule", "suggest").counter().count());
+        assertEquals(3.0, registry.get("ratelimit.buckets").gauge().value());
+        assertEquals(0, limiter.evictIdle());
+    }
+
+    @Test
+    void idleBucketsAreEvicted() throws InterruptedException {
+        RateLimiter limiter = limiter(0);
+        limiter.tryAcquire("user:alice", "GET", "/api/rooms");
+        limiter.tryAcquire("user:bob", "GET", "/api/rooms");
+        Thread.sleep(5);
+        assertEquals(2, limiter.evictIdle());
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void filterAnswers429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(limiter(600));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, AuthorityUtils.createAuthorityList("ROLE_EMPLOYEE")));
+        int passed = 0;
+        MockHttpServletResponse last = null;
+        for (int i = 0; i < 4; i++) {
+            last = new MockHttpServletResponse();
+            int[] calls = {0};
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/rooms"), last, (req, res) -> calls[0]++);
+            passed += calls[0];
+        }
+        assertEquals(3, passed);
+        assertEquals(429, last.getStatus());
+        assertTrue(Long.parseLong(last.getHeader("Retry-After")) >= 1);
+
+        // anonymous callers are limited by address, separately from the signed-in user
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse anonymous = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/rooms"), anonymous, (req, res) -> {});
+        assertEquals(200, anonymous.getStatus());
+    }
+}
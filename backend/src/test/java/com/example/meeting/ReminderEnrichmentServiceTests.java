@@ -0,0 +1,88 @@
+package com.example.meeting;
+
+import com.example.meeting.config.CacheConfig;
+import com.example.meeting.event.BookingCreated;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.service.ReminderEnrichmentService;
+import com.example.meeting.service.SuggestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderEnrichmentServiceTests {
+
+    private final BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+    private final SuggestionService suggestionService = Mockito.mock(SuggestionService.class);
+    private final ReminderEnrichmentService service = new ReminderEnrichmentService(
+            bookingRepository, suggestionService, new ObjectMapper(), CacheConfig.ehcacheManager());
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    @AfterEach
+    void tearDown() {
+        CacheConfig.ehcacheManager().getCache(CacheConfig.REMINDER_SUGGESTIONS).clear();
+    }
+
+    private Booking booking(long id, long roomId, LocalDateTime from) {
+        Booking b = new Booking();
+        b.setId(id);
+        b.setRoomId(roomId);
+        b.setStartTime(from);
+        b.setEndTime(from.plusHours(1));
+        b.setAttendeesCount(4);
+        b.setStatus("APPROVED");
+        return b;
+    }
+
+    private Notification reminder(long bookingId) {
+        Notification n = new Notification();
+        n.setType("REMINDER");
+        n.setBookingId(bookingId);
+        n.setPayload("{\"subject\":\"Upcoming meeting reminder\"}");
+        return n;
+    }
+
+    private void cycle() {
+        service.enrich(List.of(reminder(1L)));
+    }
+
+    @Test
+    void suggestionsAreReusedAcrossCyclesUntilABookingTouchesThem() {
+        Room alternate = new Room();
+        alternate.setId(2L);
+        alternate.setName("Annex");
+        Mockito.when(bookingRepository.findAllById(Mockito.any())).thenReturn(List.of(booking(1L, 1L, start)));
+        Mockito.when(suggestionService.suggest(1L, start, start.plusHours(1), 4))
+                .thenReturn(Map.of("alternateRooms", List.of(Map.of("room", alternate, "score", 1.0))));
+
+        cycle();
+        cycle();
+        Mockito.verify(suggestionService, Mockito.times(1)).suggest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+        // another room, another time: unrelated
+        service.onBookingEvent(new BookingCreated(booking(9L, 5L, start.plusDays(3))));
+        cycle();
+        Mockito.verify(suggestionService, Mockito.times(1)).suggest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+        // the suggested room was just booked
+        service.onBookingEvent(new BookingCreated(booking(10L, 2L, start.plusDays(3))));
+        cycle();
+        Mockito.verify(suggestionService, Mockito.times(2)).suggest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+        // a third room freed or taken during the slot may change the alternates
+        service.onBookingEvent(new BookingCreated(booking(11L, 7L, start.plusMinutes(30))));
+        cycle();
+        Mockito.verify(suggestionService, Mockito.times(3)).suggest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.meeting;
+
+import com.example.meeting.config.NotificationProperties;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Notification;
+import com.example.meeting.model.NotificationStatus;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.NotificationRepository;
+import com.example.meeting.repository.RoomRepository;
+import com.example.meeting.service.ReminderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReminderServiceTests {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private final NotificationProperties props = new NotificationProperties();
+
+    private ReminderService reminderService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        bookingRepository.deleteAll();
+        props.setDefaultOffsetsMinutes(List.of(30, 60));
+        reminderService = new ReminderService(notificationRepository, bookingRepository, roomRepository, props, new ObjectMapper());
+    }
+
+    private Booking booking(LocalDateTime start) {
+        Booking b = new Booking();
+        b.setRoomId(1L);
+        b.setUserId(7L);
+        b.setStartTime(start);
+        b.setEndTime(start.plusHours(1));
+        b.setStatus("APPROVED");
+        b.setPurpose("Design review for the reminder pipeline");
+        b.setAttendeesCount(3);
+        b.setPriority(3);
+        return bookingRepository.save(b);
+    }
+
+    @Test
+    void virtualModeWritesNothingAtBookingTime() {
+        props.getReminders().setMode("VIRTUAL");
+        Booking b = booking(LocalDateTime.now().plusDays(2));
+
+        assertTrue(reminderService.scheduleFor(b).isEmpty());
+        assertEquals(0, notificationRepository.count());
+    }
+
+    @Test
+    void virtualModeMaterializesOnlyDueRemindersOnce() {
+        props.getReminders().setMode("VIRTUAL");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        // 30-minute reminder became due a minute ago, the 60-minute one is past the catch-up window
+        Booking b = booking(now.plusMinutes(29));
+
+        assertEquals(1, reminderService.materializeDue(now));
+        assertEquals(0, reminderService.materializeDue(now.plusSeconds(30)));
+
+        List<Notification> rows = notificationRepository.findAll();
+        assertEquals(1, rows.size());
+        assertEquals(b.getId(), rows.get(0).getBookingId());
+        assertEquals(b.getStartTime().minusMinutes(30), rows.get(0).getScheduledAt());
+    }
+
+    @Test
+    void bothModesRemindTheSameStatuses() {
+        Booking pending = booking(LocalDateTime.now().plusDays(2));
+        pending.setStatus("PENDING");
+        bookingRepository.save(pending);
+        assertFalse(reminderService.scheduleFor(pending).isEmpty());
+        notificationRepository.deleteAll();
+
+        props.getReminders().setMode("VIRTUAL");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Booking due = booking(now.plusMinutes(29));
+        due.setStatus("PENDING");
+        bookingRepository.save(due);
+        Booking rejected = booking(now.plusMinutes(29));
+        rejected.setStatus("REJECTED");
+        bookingRepository.save(rejected);
+
+        assertEquals(1, reminderService.materializeDue(now));
+        assertEquals(due.getId(), notificationRepository.findAll().get(0).getBookingId());
+    }
+
+    @Test
+    void rowsInsertedByAnotherNodeMeanwhileAreSkipped() {
+        props.getReminders().setMode("VIRTUAL");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        booking(now.plusMinutes(29));
+        booking(now.plusMinutes(59));
+        booking(now.plusMinutes(120));
+
+        // another node wins the race for one of the two due reminders after our lookup
+        NotificationRepository racing = Mockito.mock(NotificationRepository.class,
+                AdditionalAnswers.delegatesTo(notificationRepository));
+        Mockito.doAnswer(inv -> {
+            new ReminderService(notificationRepository, bookingRepository, roomRepository, props, new ObjectMapper())
+                    .materializeDue(now);
+            notificationRepository.deleteAll(notificationRepository.findAll().subList(0, 1));
+            return List.of();
+        }).when(racing).findExistingDedupeKeys(Mockito.any());
+
+        int inserted = new ReminderService(racing, bookingRepository, roomRepository, props, new ObjectMapper())
+                .materializeDue(now);
+
+        assertEquals(1, inserted);
+        assertEquals(2, notificationRepository.count());
+    }
+
+    @Test
+    void materializedModeWritesOneRowPerFutureOffset() {
+        Booking b = booking(LocalDateTime.now().plusMinutes(45));
+
+        // only the 30-minute offset is still in the future
+        assertEquals(1, reminderService.scheduleFor(b).size());
+        assertEquals(0, reminderService.materializeDue(LocalDateTime.now()));
+    }
+
+    @Test
+    void cancelForCancelsOnlyPendingRowsOfTheBooking() {
+        Booking b = booking(LocalDateTime.now().plusDays(2));
+        Booking other = booking(LocalDateTime.now().plusDays(2));
+        List<Notification> rows = reminderService.scheduleFor(b);
+        rows.get(0).setStatus(NotificationStatus.SENT);
+        notificationRepository.save(rows.get(0));
+        reminderService.scheduleFor(other);
+
+        assertEquals(rows.size() - 1, reminderService.cancelFor(b.getId()));
+        assertEquals(0, notificationRepository.findAll().stream()
+                .filter(n -> n.getBookingId().equals(b.getId()) && n.getStatus() == NotificationStatus.PENDING).count());
+        assertTrue(notificationRepository.findAll().stream()
+                .filter(n -> n.getBookingId().equals(other.getId()))
+                .allMatch(n -> n.getStatus() == NotificationStatus.PENDING));
+    }
+}
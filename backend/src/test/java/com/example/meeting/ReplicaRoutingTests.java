@@ -0,0 +1,159 @@
+package com.example.meeting;
+
+import com.example.meeting.datasource.ReadRouting;
+import com.example.meeting.datasource.ReadRoutingFilter;
+import com.example.meeting.datasource.ReplicaLagMonitor;
+import com.example.meeting.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between two H2 databases: each one answers {@code SELECT name FROM node} with its own role.
+ * The replica is not replicated to, so its heartbeat row is written by hand to simulate lag.
+ */
+class ReplicaRoutingTests {
+
+    private final DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, 2000, 1000);
+    private final DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, monitor));
+    private final JdbcTemplate jdbc = new JdbcTemplate(routing);
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+    @BeforeEach
+    void setUp() {
+        for (DataSource ds : List.of(primary, replica)) {
+            JdbcTemplate t = new JdbcTemplate(ds);
+            t.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+            t.execute("DELETE FROM node");
+            t.update("INSERT INTO node (name) VALUES (?)", ds == primary ? "primary" : "replica");
+        }
+        replicate(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.end();
+    }
+
+    // copies the primary's heartbeat to the replica, aged by lagMs
+    private void replicate(long lagMs) {
+        monitor.heartbeat();
+        Long beat = new JdbcTemplate(primary).queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+        JdbcTemplate r = new JdbcTemplate(replica);
+        r.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        r.execute("DELETE FROM replica_heartbeat");
+        r.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beat - lagMs);
+        monitor.heartbeat();
+    }
+
+    private String node(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(s -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void readOnlyTransactionsOfARequestGoToTheReplicaUntilItWrites() {
+        ReadRouting.begin(false);
+        assertEquals("replica", node(true));
+        assertEquals("primary", node(false));
+        // read-your-writes: the rest of the request stays on the primary
+        assertEquals("primary", node(true));
+        assertTrue(ReadRouting.end());
+
+        // background work (no request scope) never reads from the replica
+        assertEquals("primary", node(true));
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        replicate(5000);
+        ReadRouting.begin(false);
+        assertEquals("primary", node(true));
+
+        replicate(100);
+        assertEquals("replica", node(true));
+    }
+
+    @Test
+    void filterPinsReadsAfterASessionWroteOrOnRequest() throws Exception {
+        ReadRoutingFilter filter = new ReadRoutingFilter(2000);
+        List<String> seen = new ArrayList<>();
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/bookings");
+        write.getSession(true);
+        filter.doFilter(write, new MockHttpServletResponse(), (req, res) -> node(false));
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/bookings");
+        read.setSession(write.getSession());
+        filter.doFilter(read, new MockHttpServletResponse(), (req, res) -> seen.add(node(true)));
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/rooms");
+        filter.doFilter(anonymous, new MockHttpServletResponse(), (req, res) -> seen.add(node(true)));
+
+        MockHttpServletRequest pinned = new MockHttpServletRequest("GET", "/api/rooms");
+        pinned.addHeader(ReadRoutingFilter.HEADER, "true");
+        filter.doFilter(pinned, new MockHttpServletResponse(), (req, res) -> seen.add(node(true)));
+
+        assertEquals(List.of("primary", "replica", "primary"), seen);
+    }
+
+    @Test
+    void filterPinsReadsOfATokenClientThatWroteWithoutASession() throws Exception {
+        ReadRoutingFilter filter = new ReadRoutingFilter(2000);
+        List<String> seen = new ArrayList<>();
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/bookings");
+        write.setUserPrincipal(() -> "alice");
+        filter.doFilter(write, new MockHttpServletResponse(), (req, res) -> node(false));
+        assertNull(write.getSession(false));
+
+        MockHttpServletRequest own = new MockHttpServletRequest("GET", "/api/bookings");
+        own.setUserPrincipal(() -> "alice");
+        filter.doFilter(own, new MockHttpServletResponse(), (req, res) -> seen.add(node(true)));
+
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/bookings");
+        other.setUserPrincipal(() -> "bob");
+        filter.doFilter(other, new MockHttpServletResponse(), (req, res) -> seen.add(node(true)));
+
+        assertEquals(List.of("primary", "replica"), seen);
+    }
+
+    @Test
+    void workHandedToAnotherThreadKeepsTheCallersRouting() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            ReadRouting.begin(false);
+            Supplier<String> replicaAllowed = ReadRouting.propagate(() -> node(true));
+            ReadRouting.primaryOnly();
+            Supplier<String> pinned = ReadRouting.propagate(() -> node(true));
+            ReadRouting.end();
+            Supplier<String> noScope = ReadRouting.propagate(() -> node(true));
+
+            assertEquals("replica", CompletableFuture.supplyAsync(replicaAllowed, pool).join());
+            assertEquals("primary", CompletableFuture.supplyAsync(pinned, pool).join());
+            assertEquals("primary", CompletableFuture.supplyAsync(noScope, pool).join());
+            // the worker does not keep a scope after the task
+            assertEquals("primary", CompletableFuture.supplyAsync(() -> node(true), pool).join());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.meeting;
+
+import com.example.meeting.event.BookingCancelled;
+import com.example.meeting.event.BookingCreated;
+import com.example.meeting.event.BookingRescheduled;
+import com.example.meeting.event.RoomAvailabilityPublisher;
+import com.example.meeting.model.Booking;
+import com.example.meeting.model.Room;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RoomAvailabilityPublisherTests {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final RoomAvailabilityPublisher publisher = new RoomAvailabilityPublisher(
+            Optional.of(template), roomRepository, bookingRepository, 2);
+
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private static Room room(long id, String location) {
+        Room r = new Room("Room " + id, location, 4, "available");
+        r.setId(id);
+        return r;
+    }
+
+    private Booking booking(long id, long roomId, String status) {
+        Booking b = new Booking();
+        b.setId(id);
+        b.setRoomId(roomId);
+        b.setStartTime(start);
+        b.setEndTime(start.plusHours(1));
+        b.setStatus(status);
+        return b;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void burstIsCoalescedIntoOneMessagePerRoomAndFloor() {
+        when(roomRepository.findAllById(any())).thenReturn(List.of(room(1, "Floor 4 South Wing"), room(2, "Floor 4 South Wing")));
+        Booking moved = booking(11, 1, "APPROVED");
+        publisher.onBookingEvent(new BookingCreated(booking(10, 1, "PENDING")));
+        publisher.onBookingEvent(new BookingCreated(moved));
+        moved.setRoomId(2L);
+        publisher.onBookingEvent(new BookingRescheduled(moved, 1L, start, start.plusHours(1)));
+
+        assertEquals(2, publisher.flush());
+
+        ArgumentCaptor<Object> room1 = ArgumentCaptor.forClass(Object.class);
+        verify(template).convertAndSend(eq("/topic/rooms/1/availability"), room1.capture());
+        // booking 11 was added and moved away within the window: only booking 10 is left for room 1
+        List<Map<String, Object>> deltas = (List<Map<String, Object>>) ((Map<String, Object>) room1.getValue()).get("deltas");
+        assertEquals(1, deltas.size());
+        assertEquals("ADDED", deltas.get(0).get("op"));
+        assertEquals(10L, deltas.get(0).get("bookingId"));
+        verify(template).convertAndSend(eq("/topic/rooms/2/availability"), any(Object.class));
+
+        ArgumentCaptor<Object> floor = ArgumentCaptor.forClass(Object.class);
+        verify(template).convertAndSend(eq("/topic/floors/4/availability"), floor.capture());
+        assertEquals(2, ((List<?>) ((Map<String, Object>) floor.getValue()).get("rooms")).size());
+
+        assertEquals(0, publisher.flush());
+    }
+
+    @Test
+    void cancellingAnInactiveBookingSendsNothing() {
+        publisher.onBookingEvent(new BookingCancelled(booking(12, 3, "CANCELLED"), "REJECTED", false));
+        publisher.onBookingEvent(new BookingCreated(booking(13, 3, "APPROVED")));
+        publisher.onBookingEvent(new BookingCancelled(booking(13, 3, "CANCELLED"), "APPROVED", false));
+
+        assertEquals(0, publisher.flush());
+        verify(template, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resumingReplaysWhatThisNodeHoldsAndSnapshotsOtherwise() {
+        when(roomRepository.findAllById(any())).thenReturn(List.of(room(5, "Annex")));
+        Booking approved = booking(20, 5, "APPROVED");
+        approved.setStartTime(LocalDateTime.now().plusHours(1));
+        approved.setEndTime(LocalDateTime.now().plusHours(2));
+        when(bookingRepository.findByRoomId(5L)).thenReturn(List.of(approved, booking(21, 5, "REJECTED")));
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        for (long id = 30; id < 34; id++) {
+            publisher.onBookingEvent(new BookingCreated(booking(id, 5, "APPROVED")));
+            publisher.flush();
+        }
+        verify(template, times(4)).convertAndSend(eq("/topic/rooms/5/availability"), sent.capture());
+        List<Object> messages = sent.getAllValues();
+        String first = (String) ((Map<String, Object>) messages.get(0)).get("id");
+        String second = (String) ((Map<String, Object>) messages.get(1)).get("id");
+        String last = (String) ((Map<String, Object>) messages.get(3)).get("id");
+
+        // two messages are held: the client that saw the second misses nothing this node forgot
+        Map<String, Object> replay = publisher.resume(5L, second);
+        assertEquals("REPLAY", replay.get("type"));
+        assertEquals(last, replay.get("id"));
+        assertEquals(messages.subList(2, 4), replay.get("messages"));
+        assertEquals(List.of(), publisher.resume(5L, last).get("messages"));
+
+        // the message after the first is no longer held, the id is ahead of this node, from another node, or missing
+        String stream = last.substring(0, last.indexOf(':'));
+        for (String lastEventId : new String[]{null, first, stream + ":9", "another-node:3", stream + ":x"}) {
+            Map<String, Object> snapshot = publisher.resume(5L, lastEventId);
+            assertEquals("SNAPSHOT", snapshot.get("type"), String.valueOf(lastEventId));
+            assertEquals(last, snapshot.get("id"));
+            List<Map<String, Object>> slots = (List<Map<String, Object>>) snapshot.get("slots");
+            assertEquals(1, slots.size());
+            assertEquals(20L, slots.get(0).get("bookingId"));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.meeting;
+
+import com.example.meeting.model.Equipment;
+import com.example.meeting.model.Room;
+import com.example.meeting.model.RoomSummary;
+import com.example.meeting.model.UserAccount;
+import com.example.meeting.repository.BookingRepository;
+import com.example.meeting.repository.EquipmentRepository;
+import com.example.meeting.repository.RoomRepository;
+import com.example.meeting.repository.UserRepository;
+import com.example.meeting.service.EquipmentService;
+import com.example.meeting.service.ReferenceDataCache;
+import com.example.meeting.service.RoomService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private RoomService rooms;
+    private EquipmentService equipment;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ReferenceDataCache cache = new ReferenceDataCache(entityManagerFactory);
+        equipment = new EquipmentService(equipmentRepository, cache);
+        rooms = new RoomService(roomRepository, equipmentRepository, equipment, bookingRepository, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteAll();
+        equipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    // the services are not proxied here, so their transactions are opened by hand
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(s -> work.get());
+    }
+
+    private long statements(Runnable read) {
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void roomsAndUsersAreServedFromTheCacheAcrossTransactions() {
+        Room room = roomRepository.save(new Room("Atlas", "Floor 2", 8, "available"));
+        userRepository.save(new UserAccount("carol", "x", "ROLE_EMPLOYEE"));
+        roomRepository.findById(room.getId());
+        userRepository.findByUsername("carol");
+
+        assertEquals(0, statements(() -> roomRepository.findById(room.getId())));
+        assertEquals(0, statements(() -> userRepository.findByUsername("carol")));
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void roomListFollowsRoomAndEquipmentChanges() {
+        Equipment projector = equipmentRepository.save(new Equipment("Projector", "PROJECTOR", "available"));
+        Room room = new Room("Atlas", "Floor 2", 8, "available");
+        room.setEquipment(new HashSet<>(Set.of(projector)));
+        Long roomId = roomRepository.save(room).getId();
+
+        inTransaction(() -> rooms.findRooms(null, null, null));
+        assertEquals(0, statements(() -> inTransaction(() -> rooms.findRooms(null, null, List.of("PROJECTOR")))));
+
+        Room details = new Room("Atlas North", "Floor 2", 10, "available");
+        inTransaction(() -> rooms.updateRoom(roomId, details));
+        List<RoomSummary> renamed = inTransaction(() -> rooms.findRooms(null, null, null));
+        assertEquals("Atlas North", renamed.get(0).getName());
+
+        inTransaction(() -> rooms.removeEquipmentFromRoom(roomId, projector.getId()));
+        assertEquals(0, inTransaction(() -> rooms.findRooms(null, null, List.of("PROJECTOR"))).size());
+        inTransaction(() -> equipment.updateEquipmentStatus(projector.getId(), "MAINTENANCE"));
+        assertEquals("MAINTENANCE", equipmentRepository.findById(projector.getId()).orElseThrow().getStatus());
+    }
+}
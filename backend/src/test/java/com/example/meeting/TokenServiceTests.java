@@ -0,0 +1,128 @@
+package com.example.meeting;
+
+import com.example.meeting.config.AuthProperties;
+import com.example.meeting.config.SecurityConfig;
+import com.example.meeting.controller.AuthController;
+import com.example.meeting.model.UserAccount;
+import com.example.meeting.repository.UserRepository;
+import com.example.meeting.security.TokenAuthenticationFilter;
+import com.example.meeting.security.TokenService;
+import com.example.meeting.security.UserIdentity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTests {
+
+    private final byte[] key = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private final TokenService tokens = new TokenService(key, 900, 3600);
+    private final UserIdentity alice = new UserIdentity(1L, "alice", "ROLE_EMPLOYEE");
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokensCarryTheUserAndAreCheckedForTypeSignatureAndExpiry() {
+        String access = tokens.issueAccessToken(alice);
+        UserIdentity user = tokens.verify(access, TokenService.ACCESS).orElseThrow();
+        assertEquals(1L, user.getId());
+        assertEquals("alice", user.getUsername());
+        assertEquals("ROLE_EMPLOYEE", user.getRole());
+
+        // a refresh token is not an access token and the other way round
+        assertTrue(tokens.verify(access, TokenService.REFRESH).isEmpty());
+        assertTrue(tokens.verify(tokens.issueRefreshToken(alice), TokenService.ACCESS).isEmpty());
+        assertTrue(tokens.verify(tokens.issueRefreshToken(alice), TokenService.REFRESH).isPresent());
+
+        // another node with the same key accepts it; a different key or an edited payload does not
+        assertTrue(new TokenService(key, 900, 3600).verify(access, TokenService.ACCESS).isPresent());
+        assertTrue(new TokenService("another key".getBytes(StandardCharsets.UTF_8), 900, 3600)
+                .verify(access, TokenService.ACCESS).isEmpty());
+        String[] parts = access.split("\\.");
+        String forged = parts[0] + "." + java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"alice\",\"uid\":1,\"role\":\"ROLE_ADMIN\",\"typ\":\"access\",\"exp\":9999999999}"
+                        .getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+        assertTrue(tokens.verify(forged, TokenService.ACCESS).isEmpty());
+        assertTrue(tokens.verify("garbage", TokenService.ACCESS).isEmpty());
+
+        String expired = new TokenService(key, 0, 0).issueAccessToken(alice);
+        assertTrue(tokens.verify(expired, TokenService.ACCESS).isEmpty());
+    }
+
+    @Test
+    void filterAuthenticatesBearerRequestsFromTheTokenAlone() throws Exception {
+        TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokens);
+        List<Authentication> seen = new ArrayList<>();
+
+        MockHttpServletRequest bearer = new MockHttpServletRequest("GET", "/api/bookings");
+        bearer.addHeader("Authorization", "Bearer " + tokens.issueAccessToken(alice));
+        filter.doFilter(bearer, new MockHttpServletResponse(),
+                (req, res) -> seen.add(SecurityContextHolder.getContext().getAuthentication()));
+        SecurityContextHolder.clearContext();
+
+        MockHttpServletRequest refreshAsBearer = new MockHttpServletRequest("GET", "/api/bookings");
+        refreshAsBearer.addHeader("Authorization", "Bearer " + tokens.issueRefreshToken(alice));
+        filter.doFilter(refreshAsBearer, new MockHttpServletResponse(),
+                (req, res) -> seen.add(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertEquals("alice", seen.get(0).getName());
+        assertEquals(1L, ((UserIdentity) seen.get(0).getPrincipal()).getId());
+        assertEquals("ROLE_EMPLOYEE", seen.get(0).getAuthorities().iterator().next().getAuthority());
+        assertNull(seen.get(1));
+        assertNull(bearer.getSession(false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshReissuesFromTheStoredAccount() {
+        UserRepository users = Mockito.mock(UserRepository.class);
+        AuthProperties props = new AuthProperties();
+        props.setMode("token");
+        AuthController controller = new AuthController(null, null, props, tokens, users);
+        String refreshToken = tokens.issueRefreshToken(alice);
+
+        // promoted since the token was issued: the new access token carries the new role
+        UserAccount promoted = new UserAccount("alice", "x", "ROLE_ADMIN");
+        promoted.setId(1L);
+        Mockito.when(users.findById(1L)).thenReturn(Optional.of(promoted));
+        ResponseEntity<?> ok = controller.refresh(Map.of("refreshToken", refreshToken));
+        assertEquals(200, ok.getStatusCodeValue());
+        String access = (String) ((Map<String, Object>) ok.getBody()).get("accessToken");
+        assertEquals("ROLE_ADMIN", tokens.verify(access, TokenService.ACCESS).orElseThrow().getRole());
+
+        // renamed: id 1 is someone else now
+        UserAccount renamed = new UserAccount("alice2", "x", "ROLE_EMPLOYEE");
+        renamed.setId(1L);
+        Mockito.when(users.findById(1L)).thenReturn(Optional.of(renamed));
+        assertEquals(401, controller.refresh(Map.of("refreshToken", refreshToken)).getStatusCodeValue());
+
+        // removed
+        Mockito.when(users.findById(1L)).thenReturn(Optional.empty());
+        assertEquals(401, controller.refresh(Map.of("refreshToken", refreshToken)).getStatusCodeValue());
+    }
+
+    @Test
+    void aSecretShorterThanTheHashIsRejectedAtStartup() {
+        AuthProperties properties = new AuthProperties();
+        properties.setTokenSecret("too-short");
+        assertThrows(IllegalStateException.class, () -> new SecurityConfig().tokenService(properties));
+
+        properties.setTokenSecret(new String(key, StandardCharsets.UTF_8));
+        assertNotNull(new SecurityConfig().tokenService(properties));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.meeting;
+
+import com.example.meeting.config.CacheConfig;
+import com.example.meeting.model.UserAccount;
+import com.example.meeting.repository.UserRepository;
+import com.example.meeting.security.CustomUserDetailsService;
+import com.example.meeting.security.UserIdentity;
+import com.example.meeting.security.UserIdentityCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CacheConfig.class, UserIdentityCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserIdentityCacheTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager jCacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        jCacheManager.getCache(CacheConfig.USER_IDENTITIES).clear();
+    }
+
+    private long statements(Runnable read) {
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount() + statistics.getSecondLevelCacheHitCount()
+                + statistics.getQueryCacheHitCount();
+    }
+
+    @Test
+    void loginFillsTheCacheAndRequestsDoNotReadUsers() {
+        UserAccount dave = userRepository.save(new UserAccount("dave", "x", "ROLE_EMPLOYEE"));
+        new CustomUserDetailsService(userRepository, userIdentityCache).loadUserByUsername("dave");
+
+        // not even a second-level cache lookup
+        assertEquals(0, statements(() -> {
+            UserIdentity identity = userIdentityCache.resolve("dave").orElseThrow();
+            assertEquals(dave.getId(), identity.getId());
+            assertEquals("ROLE_EMPLOYEE", identity.getRole());
+        }));
+        assertTrue(userIdentityCache.resolve("nobody").isEmpty());
+    }
+
+    @Test
+    void updatedUsersAreReadAgain() {
+        UserAccount erin = userRepository.save(new UserAccount("erin", "x", "ROLE_EMPLOYEE"));
+        userIdentityCache.resolve("erin");
+
+        erin.setRole("ROLE_MANAGER");
+        erin.setUsername("erin.m");
+        userRepository.save(erin);
+
+        assertEquals("ROLE_MANAGER", userIdentityCache.resolve("erin.m").orElseThrow().getRole());
+        assertTrue(userIdentityCache.resolve("erin").isEmpty());
+
+        userRepository.delete(erin);
+        assertTrue(userIdentityCache.resolve("erin.m").isEmpty());
+    }
+
+    @Test
+    void aMissThatReadBeforeAnEvictionIsNotKept() {
+        UserRepository users = Mockito.mock(UserRepository.class);
+        UserIdentityCache cache = new UserIdentityCache(users, jCacheManager);
+        UserAccount before = new UserAccount("gus", "x", "ROLE_EMPLOYEE");
+        before.setId(7L);
+        UserAccount after = new UserAccount("gus", "x", "ROLE_ADMIN");
+        after.setId(7L);
+
+        // the update commits (and evicts) while the miss still holds the old row
+        Mockito.when(users.findByUsername("gus")).thenAnswer(inv -> {
+            cache.evict(7L);
+            return Optional.of(before);
+        });
+        assertEquals("ROLE_EMPLOYEE", cache.resolve("gus").orElseThrow().getRole());
+
+        Mockito.when(users.findByUsername("gus")).thenReturn(Optional.of(after));
+        assertEquals("ROLE_ADMIN", cache.resolve("gus").orElseThrow().getRole());
+        // now it sticks
+        Mockito.when(users.findByUsername("gus")).thenReturn(Optional.empty());
+        assertEquals("ROLE_ADMIN", cache.resolve("gus").orElseThrow().getRole());
+    }
+}